@@ -1,19 +1,39 @@
 package com.dag.productservice.conf;
 
+import com.dag.productservice.service.cache.CacheLoadLease;
+import com.dag.productservice.service.cache.RefreshAheadPolicy;
+import com.dag.productservice.service.cache.TwoTierCacheManager;
+import com.dag.productservice.service.product.CachedLocalProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Redis Configuration for caching and data storage
@@ -23,6 +43,42 @@ import java.time.Duration;
 @EnableCaching
 public class RedisConfig {
 
+    @Value("${cache.ttl:1h}")
+    private Duration cacheTtl;
+
+    @Value("${cache.negative.ttl:60s}")
+    private Duration negativeCacheTtl;
+
+    @Value("${cache.pages.ttl:30s}")
+    private Duration pagesCacheTtl;
+
+    @Value("${cache.l1.enabled:true}")
+    private boolean l1Enabled;
+
+    @Value("${cache.l1.cache-names:products,missing-products}")
+    private Set<String> l1CacheNames;
+
+    @Value("${cache.l1.max-size:10000}")
+    private long l1MaxSize;
+
+    @Value("${cache.l1.ttl:30s}")
+    private Duration l1Ttl;
+
+    @Value("${cache.load-lease.enabled:true}")
+    private boolean loadLeaseEnabled;
+
+    @Value("${cache.load-lease.ttl:5s}")
+    private Duration loadLeaseTtl;
+
+    @Value("${cache.refresh-ahead.threads:2}")
+    private int refreshAheadThreads;
+
+    @Value("${cache.refresh-ahead.queue-capacity:256}")
+    private int refreshAheadQueueCapacity;
+
+    @Value("${cache.refresh-ahead.min-delta:1s}")
+    private Duration refreshAheadMinDelta;
+
     /**
      * Redis Connection Factory
      * Uses Lettuce as the Redis client (default for Spring Boot)
@@ -56,11 +112,14 @@ public class RedisConfig {
     /**
      * Cache Manager for Spring Cache abstraction
      * Configures Redis as the cache provider with default settings
+     * and fronts the configured caches with a bounded in-process L1 near-cache
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     ObjectProvider<MeterRegistry> meterRegistry,
+                                     Environment environment) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-            .entryTtl(Duration.ofHours(1)) // Default TTL: 1 hour
+            .entryTtl(cacheTtl) // Default TTL: 1 hour
             .serializeKeysWith(
                 org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
                     .fromSerializer(new StringRedisSerializer()))
@@ -68,9 +127,64 @@ public class RedisConfig {
                 org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
                     .fromSerializer(new GenericJackson2JsonRedisSerializer()));
 
-        return RedisCacheManager.builder(connectionFactory)
+        // Clear whole caches with SCAN rather than KEYS so allEntries evictions do not block Redis
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(
+            connectionFactory, BatchStrategies.scan(1000));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(cacheWriter)
             .cacheDefaults(config)
+            // Negative lookups are kept briefly so bots scanning IDs do not reach the database
+            .withCacheConfiguration(CachedLocalProductService.MISSING_PRODUCTS_CACHE,
+                config.entryTtl(negativeCacheTtl))
+            // Listing pages are cheap to rebuild and cleared on every product write
+            .withCacheConfiguration(CachedLocalProductService.PRODUCT_PAGES_CACHE,
+                config.entryTtl(pagesCacheTtl))
             .build();
+        redisCacheManager.afterPropertiesSet();
+
+        if (!l1Enabled) {
+            return redisCacheManager;
+        }
+        CacheLoadLease loadLease = loadLeaseEnabled
+            ? new CacheLoadLease(new StringRedisTemplate(connectionFactory), loadLeaseTtl, Duration.ofMillis(25))
+            : null;
+        Map<String, RefreshAheadPolicy> refreshAheadPolicies = refreshAheadPolicies(environment, redisCacheManager);
+        ThreadPoolExecutor refreshExecutor = refreshAheadPolicies.isEmpty() ? null : refreshAheadExecutor();
+        return new TwoTierCacheManager(redisCacheManager, l1CacheNames, l1MaxSize, l1Ttl,
+            meterRegistry.getIfAvailable(), loadLease, refreshAheadPolicies, refreshExecutor);
+    }
+
+    /**
+     * Per-cache refresh-ahead tuning, bound from cache.refresh-ahead.beta.<cache-name>
+     * A beta of 0 disables refresh-ahead for that cache; larger values refresh earlier
+     * Each policy uses the Redis TTL of its own cache, falling back to the default TTL
+     */
+    private Map<String, RefreshAheadPolicy> refreshAheadPolicies(Environment environment,
+                                                                 RedisCacheManager redisCacheManager) {
+        Map<String, RedisCacheConfiguration> cacheConfigurations = redisCacheManager.getCacheConfigurations();
+        Map<String, Double> betas = Binder.get(environment)
+            .bind("cache.refresh-ahead.beta", Bindable.mapOf(String.class, Double.class))
+            .orElseGet(Map::of);
+
+        Map<String, RefreshAheadPolicy> policies = new HashMap<>();
+        betas.forEach((cacheName, beta) -> {
+            if (beta > 0) {
+                RedisCacheConfiguration cacheConfiguration = cacheConfigurations.get(cacheName);
+                Duration ttl = cacheConfiguration != null ? cacheConfiguration.getTtl() : cacheTtl;
+                policies.put(cacheName, new RefreshAheadPolicy(beta, ttl, refreshAheadMinDelta));
+            }
+        });
+        return policies;
+    }
+
+    /**
+     * Bounded executor for background refreshes
+     * When the queue is full, refreshes are dropped and the current entry keeps being served
+     */
+    private ThreadPoolExecutor refreshAheadExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-refresh-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(refreshAheadThreads, refreshAheadThreads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(refreshAheadQueueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
     }
 
     /**
@@ -0,0 +1,37 @@
+package com.dag.productservice.controller;
+
+import com.dag.productservice.dto.ProductStockDto;
+import com.dag.productservice.service.inventory.InventoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/inventory")
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryController {
+
+    private final InventoryService inventoryService;
+
+    @GetMapping("/{productId}")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<ProductStockDto> getStock(@PathVariable UUID productId) {
+        log.info("Getting stock for product: {}", productId);
+        return ResponseEntity.ok(inventoryService.getStock(productId));
+    }
+
+    /**
+     * Restock (positive delta) or correct (negative delta) on-hand units: /api/inventory/{productId}/adjust?delta=100
+     */
+    @PostMapping("/{productId}/adjust")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<ProductStockDto> adjustStock(@PathVariable UUID productId, @RequestParam long delta) {
+        log.info("Adjusting stock for product: {} by {}", productId, delta);
+        return ResponseEntity.ok(inventoryService.adjustStock(productId, delta));
+    }
+}
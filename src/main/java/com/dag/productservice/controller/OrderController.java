@@ -1,9 +1,18 @@
 package com.dag.productservice.controller;
 
+import com.dag.productservice.dto.BulkOrderStatusUpdateRequestDto;
+import com.dag.productservice.dto.BulkOrderStatusUpdateResultDto;
+import com.dag.productservice.dto.CustomerOrderStatsDto;
+import com.dag.productservice.dto.OrderPageDto;
 import com.dag.productservice.dto.OrderRequestDto;
 import com.dag.productservice.dto.OrderResponseDto;
 import com.dag.productservice.dto.OrderStatusUpdateRequestDto;
+import com.dag.productservice.dto.OrderSummaryDto;
 import com.dag.productservice.models.Order;
+import com.dag.productservice.service.order.CustomerOrderStatsService;
+import com.dag.productservice.service.order.IdempotentOrderService;
+import com.dag.productservice.service.order.OrderArchiveJob;
+import com.dag.productservice.service.order.OrderExportService;
 import com.dag.productservice.service.order.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,11 +20,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -24,14 +36,33 @@ import java.util.UUID;
 @Slf4j
 public class OrderController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final CustomerOrderStatsService customerOrderStatsService;
+    private final IdempotentOrderService idempotentOrderService;
+    private final OrderArchiveJob orderArchiveJob;
 
+    /**
+     * Clients that retry on timeouts should send an Idempotency-Key; a retry with the same key and body
+     * returns the original order (marked with Idempotent-Replayed: true) instead of creating another one
+     */
     @PostMapping
     @PreAuthorize("hasAuthority('SCOPE_ADMIN') or @securityService.isCurrentUser(#request.customerId)")
-    public ResponseEntity<OrderResponseDto> createOrder(@RequestBody OrderRequestDto request) {
+    public ResponseEntity<OrderResponseDto> createOrder(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody OrderRequestDto request) {
         log.info("Creating order for customer: {}", request.getCustomerId());
-        OrderResponseDto response = orderService.createOrder(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        if (idempotencyKey == null) {
+            OrderResponseDto response = orderService.createOrder(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+        IdempotentOrderService.Result result = idempotentOrderService.createOrder(idempotencyKey, request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.response());
     }
 
     @GetMapping("/{id}")
@@ -62,6 +93,59 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Order list for the customer UI: number, date, status and total only, newest first
+     */
+    @GetMapping("/customer/{customerId}/summary")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN') or @securityService.isCurrentUser(#customerId)")
+    public ResponseEntity<Page<OrderSummaryDto>> getCustomerOrderSummaries(
+            @PathVariable String customerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("Getting order summaries for customer: {} (page: {}, size: {})", customerId, page, size);
+        Pageable pageable = PageRequest.of(page, size);
+        Page<OrderSummaryDto> response = orderService.getCustomerOrderSummaries(customerId, pageable);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Order count, lifetime spend, last order date and counts per status, read from the stats table
+     */
+    @GetMapping("/customer/{customerId}/stats")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN') or @securityService.isCurrentUser(#customerId)")
+    public ResponseEntity<CustomerOrderStatsDto> getCustomerOrderStats(@PathVariable String customerId) {
+        log.info("Getting order stats for customer: {}", customerId);
+        return ResponseEntity.ok(customerOrderStatsService.getStats(customerId));
+    }
+
+    /**
+     * Recompute every customer's order stats from the orders table; runs synchronously
+     */
+    @PostMapping("/customer-stats/rebuild")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<Map<String, Long>> rebuildCustomerOrderStats() {
+        log.info("Rebuilding customer order stats");
+        long customers = customerOrderStatsService.rebuildAll();
+        if (customers < 0) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(Map.of("customers", customers));
+    }
+
+    /**
+     * Move old delivered, cancelled and refunded orders to the archive now; runs synchronously
+     */
+    @PostMapping("/archive/run")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<Map<String, Long>> archiveOrders() {
+        log.info("Archiving old orders");
+        long archived = orderArchiveJob.run();
+        if (archived < 0) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(Map.of("orders", archived));
+    }
+
     @PutMapping("/{id}/status")
     @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
     public ResponseEntity<OrderResponseDto> updateOrderStatus(
@@ -72,6 +156,22 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Warehouse waves; always 200 with a per-order outcome, failed orders can be resubmitted on their own
+     */
+    @PostMapping("/status/bulk")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<BulkOrderStatusUpdateResultDto> bulkUpdateOrderStatus(
+            @RequestBody BulkOrderStatusUpdateRequestDto request) {
+        log.info("Bulk updating order status for {} orders",
+                request.getTransitions() != null ? request.getTransitions().size() : 0);
+        return ResponseEntity.ok(orderService.bulkUpdateOrderStatus(request));
+    }
+
+    /**
+     * Every order in the status in one response, kept for existing ops clients
+     * Delivered and cancelled lists grow without bound; send a limit to page them or use the export
+     */
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
     public ResponseEntity<List<OrderResponseDto>> getOrdersByStatus(@PathVariable Order.OrderStatus status) {
@@ -80,6 +180,38 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Keyset-paginated listing, selected when a limit is given: /api/orders/status/DELIVERED?limit=50&cursor=...
+     * Orders are returned newest first; pass the returned nextCursor to fetch the following page
+     */
+    @GetMapping(value = "/status/{status}", params = "limit")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<OrderPageDto> getOrdersByStatusPage(
+            @PathVariable Order.OrderStatus status,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        log.info("Getting orders by status: {} (limit: {})", status, limit);
+        return ResponseEntity.ok(orderService.getOrdersByStatusPage(status, cursor, limit));
+    }
+
+    /**
+     * Every order in one status for ops tooling, one JSON document per line (order header only)
+     * The body is written while rows are read, so the response starts before the query finishes
+     */
+    @GetMapping(value = "/status/{status}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportOrdersByStatus(@PathVariable Order.OrderStatus status) {
+        log.info("Exporting orders by status: {}", status);
+        StreamingResponseBody body = out -> orderExportService.exportNdjson(status, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * A customer's orders in one status in one response, kept for existing clients
+     * Only bounded by that customer's own orders; send a limit to page long histories
+     */
     @GetMapping("/customer/{customerId}/status/{status}")
     @PreAuthorize("hasAuthority('SCOPE_ADMIN') or @securityService.isCurrentUser(#customerId)")
     public ResponseEntity<List<OrderResponseDto>> getCustomerOrdersByStatus(
@@ -90,6 +222,21 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Keyset-paginated listing for one customer, selected when a limit is given, newest first
+     * Pass the returned nextCursor to fetch the following page; a cursor issued for another status is rejected
+     */
+    @GetMapping(value = "/customer/{customerId}/status/{status}", params = "limit")
+    @PreAuthorize("hasAuthority('SCOPE_ADMIN') or @securityService.isCurrentUser(#customerId)")
+    public ResponseEntity<OrderPageDto> getCustomerOrdersByStatusPage(
+            @PathVariable String customerId,
+            @PathVariable Order.OrderStatus status,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        log.info("Getting orders for customer: {} with status: {} (limit: {})", customerId, status, limit);
+        return ResponseEntity.ok(orderService.getCustomerOrdersByStatusPage(customerId, status, cursor, limit));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAuthority('SCOPE_ADMIN')")
     public ResponseEntity<Void> cancelOrder(
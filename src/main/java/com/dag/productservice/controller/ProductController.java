@@ -1,13 +1,17 @@
 package com.dag.productservice.controller;
 
 import com.dag.productservice.annotation.RateLimited;
+import com.dag.productservice.dto.ProductPageDto;
 import com.dag.productservice.dto.ProductRequestDto;
 import com.dag.productservice.dto.ProductResponseDto;
+import com.dag.productservice.service.product.ProductExportService;
 import com.dag.productservice.service.product.ProductService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,9 +20,11 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductExportService productExportService;
 
-    ProductController(ProductService productService) {
+    ProductController(ProductService productService, ProductExportService productExportService) {
         this.productService = productService;
+        this.productExportService = productExportService;
     }
 
     @GetMapping
@@ -28,6 +34,44 @@ public class ProductController {
         return ResponseEntity.ok(productService.getAllProducts());
     }
 
+    /**
+     * Keyset-paginated listing, selected when a limit is given without ids: /products?limit=50&sort=id&cursor=...
+     * Pass the returned nextCursor to fetch the following page; it is null on the last page
+     */
+    @GetMapping(params = {"limit", "!ids"})
+    @RateLimited(value = RateLimited.RateLimitType.IP_BASED,
+                 message = "Too many product list requests. Please try again later.")
+    public ResponseEntity<ProductPageDto> getProductsPage(@RequestParam("limit") int limit,
+                                                          @RequestParam(value = "cursor", required = false) String cursor,
+                                                          @RequestParam(value = "sort", defaultValue = "id") String sort) {
+        return ResponseEntity.ok(productService.getProductsPage(cursor, limit, sort));
+    }
+
+    /**
+     * Batch lookup for carts and order pages: /products?ids=<id>,<id>,...
+     * Products are returned in request order; unknown IDs are left out
+     */
+    @GetMapping(params = "ids")
+    @RateLimited(value = RateLimited.RateLimitType.IP_BASED,
+                 message = "Too many product detail requests. Please try again later.")
+    public ResponseEntity<List<ProductResponseDto>> getProductsByIds(@RequestParam("ids") List<String> ids) {
+        return ResponseEntity.ok(productService.getProductsByIds(ids));
+    }
+
+    /**
+     * Full catalog export for downstream systems, one product JSON document per line
+     * The body is written while rows are read, so the response starts before the query finishes
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @RateLimited(value = RateLimited.RateLimitType.STRICT,
+                 message = "Too many product export requests. Please try again later.")
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        StreamingResponseBody body = productExportService::exportNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @RateLimited(value = RateLimited.RateLimitType.IP_BASED,
                  message = "Too many product detail requests. Please try again later.")
@@ -0,0 +1,14 @@
+package com.dag.productservice.dao.schema;
+
+import com.dag.productservice.models.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, UUID> {
+
+    Optional<ArchivedOrder> findByOrderNumber(String orderNumber);
+}
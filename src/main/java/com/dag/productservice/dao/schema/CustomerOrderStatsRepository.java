@@ -0,0 +1,71 @@
+package com.dag.productservice.dao.schema;
+
+import com.dag.productservice.models.CustomerOrderStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CustomerOrderStatsRepository extends JpaRepository<CustomerOrderStats, String> {
+
+    /**
+     * Apply a delta in place with a single relative UPDATE, so concurrent orders of one customer
+     * serialize on the row lock instead of overwriting each other
+     * @return Number of rows updated; 0 when the customer has no stats row yet
+     */
+    @Modifying
+    @Query("UPDATE CustomerOrderStats s SET " +
+            "s.orderCount = s.orderCount + :#{#delta.orders}, " +
+            "s.lifetimeSpend = s.lifetimeSpend + :#{#delta.spend}, " +
+            "s.lastOrderDate = CASE WHEN s.lastOrderDate IS NULL OR s.lastOrderDate < :#{#delta.orderDate} " +
+            "THEN :#{#delta.orderDate} ELSE s.lastOrderDate END, " +
+            "s.pendingCount = s.pendingCount + :#{#delta.count('PENDING')}, " +
+            "s.confirmedCount = s.confirmedCount + :#{#delta.count('CONFIRMED')}, " +
+            "s.processingCount = s.processingCount + :#{#delta.count('PROCESSING')}, " +
+            "s.shippedCount = s.shippedCount + :#{#delta.count('SHIPPED')}, " +
+            "s.deliveredCount = s.deliveredCount + :#{#delta.count('DELIVERED')}, " +
+            "s.cancelledCount = s.cancelledCount + :#{#delta.count('CANCELLED')}, " +
+            "s.refundedCount = s.refundedCount + :#{#delta.count('REFUNDED')}, " +
+            "s.modifiedOn = :now " +
+            "WHERE s.customerId = :customerId")
+    int applyDelta(@Param("customerId") String customerId,
+                   @Param("delta") CustomerOrderStats.Delta delta,
+                   @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CustomerOrderStats s WHERE s.customerId IN :customerIds")
+    List<CustomerOrderStats> lockAllByCustomerIdIn(@Param("customerIds") Collection<String> customerIds);
+
+    @Query("SELECT s.customerId FROM CustomerOrderStats s WHERE s.customerId IN :customerIds")
+    List<String> findCustomerIdsIn(@Param("customerIds") Collection<String> customerIds);
+
+    /**
+     * Next chunk of distinct customer IDs in index order, for the rebuild job
+     */
+    @Query("SELECT DISTINCT o.customerId FROM orders o WHERE o.customerId > :after ORDER BY o.customerId")
+    List<String> findCustomerIdsAfter(@Param("after") String after, Pageable pageable);
+
+    /**
+     * Per-status order count, delivered total and latest order date for a chunk of customers;
+     * rows are (customerId, status, count, total, latest order date)
+     */
+    @Query("SELECT o.customerId, o.status, COUNT(o), SUM(o.totalAmount), MAX(o.orderDate) FROM orders o " +
+            "WHERE o.customerId IN :customerIds GROUP BY o.customerId, o.status")
+    List<Object[]> aggregateByCustomerIdIn(@Param("customerIds") Collection<String> customerIds);
+
+    /**
+     * Same aggregate over archived orders, which still count towards a customer's stats
+     */
+    @Query("SELECT a.customerId, a.status, COUNT(a), SUM(a.totalAmount), MAX(a.orderDate) FROM ArchivedOrder a " +
+            "WHERE a.customerId IN :customerIds GROUP BY a.customerId, a.status")
+    List<Object[]> aggregateArchivedByCustomerIdIn(@Param("customerIds") Collection<String> customerIds);
+}
@@ -1,16 +1,100 @@
 package com.dag.productservice.dao.schema;
 
+import com.dag.productservice.dto.ProductPageCursor;
+import com.dag.productservice.dto.ProductResponseDto;
 import com.dag.productservice.models.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface LocalProductRepository extends JpaRepository<Product, UUID> {
 
-    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.price LEFT JOIN FETCH p.category")
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category")
     List<Product> findAllWithPriceAndCategory();
+
+    /**
+     * Products to be priced into an order, loaded with their category in one statement
+     */
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.Id IN :ids")
+    List<Product> findAllByIdWithCategory(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Response-shaped read of products with their price and category name in a single statement
+     * Read paths use these projections instead of loading Product entities, whose eager category
+     * would otherwise cost an extra select per distinct category
+     */
+    String RESPONSE_PROJECTION = "SELECT new com.dag.productservice.dto.ProductResponseDto(" +
+            "p.Id, p.name, p.title, p.price, c.name, p.description) " +
+            "FROM Product p LEFT JOIN p.category c";
+
+    @Query(RESPONSE_PROJECTION + " WHERE p.Id = :id")
+    Optional<ProductResponseDto> findResponseById(@Param("id") UUID id);
+
+    @Query(RESPONSE_PROJECTION)
+    List<ProductResponseDto> findAllResponses();
+
+    @Query(RESPONSE_PROJECTION + " WHERE p.Id IN :ids")
+    List<ProductResponseDto> findAllResponsesByIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Streams the whole catalog through a server-side cursor; must be consumed inside a transaction and closed
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category")
+    Stream<Product> streamAllWithPriceAndCategory();
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category ORDER BY p.Id")
+    List<Product> findFirstPageOrderById(Pageable pageable);
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category " +
+            "WHERE p.Id > :afterId ORDER BY p.Id")
+    List<Product> findPageAfterId(@Param("afterId") UUID afterId, Pageable pageable);
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category " +
+            "WHERE p.createdOn IS NOT NULL ORDER BY p.createdOn, p.Id")
+    List<Product> findFirstPageOrderByCreatedOn(Pageable pageable);
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category " +
+            "WHERE p.createdOn > :createdOn OR (p.createdOn = :createdOn AND p.Id > :afterId) " +
+            "ORDER BY p.createdOn, p.Id")
+    List<Product> findPageAfterCreatedOn(@Param("createdOn") LocalDateTime createdOn,
+                                         @Param("afterId") UUID afterId,
+                                         Pageable pageable);
+
+    /**
+     * Keyset page of products; uses idx_products_created_on_id for createdOn order
+     * Products without a createdOn timestamp are only listed in id order
+     * @param sort Sort order of the listing
+     * @param after Cursor of the previous page, or null for the first page
+     * @param size Number of rows to fetch
+     */
+    default List<Product> findPage(ProductPageCursor.Sort sort, ProductPageCursor after, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        if (sort == ProductPageCursor.Sort.CREATED_ON) {
+            return after == null
+                    ? findFirstPageOrderByCreatedOn(pageable)
+                    : findPageAfterCreatedOn(after.getCreatedOn(), after.getId(), pageable);
+        }
+        return after == null
+                ? findFirstPageOrderById(pageable)
+                : findPageAfterId(after.getId(), pageable);
+    }
 }
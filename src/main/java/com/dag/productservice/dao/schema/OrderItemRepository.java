@@ -2,10 +2,12 @@ package com.dag.productservice.dao.schema;
 
 import com.dag.productservice.models.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,4 +21,8 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
 
     @Query("SELECT SUM(oi.totalPrice) FROM order_items oi WHERE oi.order.id = :orderId")
     java.math.BigDecimal getTotalAmountByOrderId(@Param("orderId") UUID orderId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM order_items oi WHERE oi.order.Id IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
 }
@@ -1,27 +1,74 @@
 package com.dag.productservice.dao.schema;
 
+import com.dag.productservice.dto.OrderPageCursor;
+import com.dag.productservice.dto.OrderSummaryDto;
 import com.dag.productservice.models.Order;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
 
     Optional<Order> findByOrderNumber(String orderNumber);
 
+    /**
+     * Order with its items in one query, for the detail view; items carry a product snapshot,
+     * so the catalog is not joined. Status history is a second bag, so it is left to a single lazy load
+     */
+    @EntityGraph(attributePaths = "orderItems")
+    @Query("SELECT o FROM orders o WHERE o.Id = :id")
+    Optional<Order> findDetailById(@Param("id") UUID id);
+
+    @EntityGraph(attributePaths = "orderItems")
+    @Query("SELECT o FROM orders o WHERE o.orderNumber = :orderNumber")
+    Optional<Order> findDetailByOrderNumber(@Param("orderNumber") String orderNumber);
+
+    /**
+     * Initialize the items of already loaded orders in one query
+     * Returns the same managed instances; used with fetchStatusHistory to hydrate list views
+     */
+    @Query("SELECT DISTINCT o FROM orders o LEFT JOIN FETCH o.orderItems WHERE o.Id IN :ids")
+    List<Order> fetchItems(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Initialize the status history of already loaded orders in one query
+     */
+    @Query("SELECT DISTINCT o FROM orders o LEFT JOIN FETCH o.statusHistory WHERE o.Id IN :ids")
+    List<Order> fetchStatusHistory(@Param("ids") Collection<UUID> ids);
+
     Page<Order> findByCustomerId(String customerId, Pageable pageable);
 
     List<Order> findByCustomerId(String customerId);
 
+    /**
+     * Customer order list rows, newest first, without loading entities or touching items and history
+     * Served by idx_orders_customer_order_date_id
+     */
+    @Query(value = "SELECT new com.dag.productservice.dto.OrderSummaryDto(" +
+            "o.Id, o.orderNumber, o.orderDate, o.status, o.totalAmount, o.currency) " +
+            "FROM orders o WHERE o.customerId = :customerId ORDER BY o.orderDate DESC, o.Id DESC",
+            countQuery = "SELECT COUNT(o) FROM orders o WHERE o.customerId = :customerId")
+    Page<OrderSummaryDto> findSummariesByCustomerId(@Param("customerId") String customerId, Pageable pageable);
+
     @Query("SELECT o FROM orders o WHERE o.status = :status")
     List<Order> findByStatus(@Param("status") Order.OrderStatus status);
 
@@ -38,4 +85,126 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
 
     @Query("SELECT SUM(o.totalAmount) FROM orders o WHERE o.customerId = :customerId AND o.status = 'DELIVERED'")
     java.math.BigDecimal getTotalSpentByCustomer(@Param("customerId") String customerId);
+
+    @Query("SELECT o FROM orders o WHERE o.status = :status AND o.orderDate IS NOT NULL " +
+            "ORDER BY o.orderDate DESC, o.Id DESC")
+    List<Order> findFirstPageByStatus(@Param("status") Order.OrderStatus status, Pageable pageable);
+
+    @Query("SELECT o FROM orders o WHERE o.status = :status " +
+            "AND (o.orderDate < :orderDate OR (o.orderDate = :orderDate AND o.Id < :beforeId)) " +
+            "ORDER BY o.orderDate DESC, o.Id DESC")
+    List<Order> findPageByStatusBefore(@Param("status") Order.OrderStatus status,
+                                       @Param("orderDate") LocalDateTime orderDate,
+                                       @Param("beforeId") UUID beforeId,
+                                       Pageable pageable);
+
+    @Query("SELECT o FROM orders o WHERE o.customerId = :customerId AND o.status = :status " +
+            "AND o.orderDate IS NOT NULL ORDER BY o.orderDate DESC, o.Id DESC")
+    List<Order> findFirstPageByCustomerIdAndStatus(@Param("customerId") String customerId,
+                                                   @Param("status") Order.OrderStatus status,
+                                                   Pageable pageable);
+
+    @Query("SELECT o FROM orders o WHERE o.customerId = :customerId AND o.status = :status " +
+            "AND (o.orderDate < :orderDate OR (o.orderDate = :orderDate AND o.Id < :beforeId)) " +
+            "ORDER BY o.orderDate DESC, o.Id DESC")
+    List<Order> findPageByCustomerIdAndStatusBefore(@Param("customerId") String customerId,
+                                                    @Param("status") Order.OrderStatus status,
+                                                    @Param("orderDate") LocalDateTime orderDate,
+                                                    @Param("beforeId") UUID beforeId,
+                                                    Pageable pageable);
+
+    /**
+     * Keyset page of orders in one status, newest first; a backward range scan of
+     * idx_orders_status_order_date_id (or idx_orders_customer_status_order_date_id for one customer)
+     * @param customerId Customer to list, or null for all customers
+     * @param after Cursor of the previous page, or null for the first page
+     * @param size Number of rows to fetch
+     */
+    default List<Order> findPageByStatus(String customerId, Order.OrderStatus status, OrderPageCursor after, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        if (customerId != null) {
+            return after == null
+                    ? findFirstPageByCustomerIdAndStatus(customerId, status, pageable)
+                    : findPageByCustomerIdAndStatusBefore(customerId, status,
+                            after.getOrderDate(), after.getId(), pageable);
+        }
+        return after == null
+                ? findFirstPageByStatus(status, pageable)
+                : findPageByStatusBefore(status, after.getOrderDate(), after.getId(), pageable);
+    }
+
+    /**
+     * Streams every order in one status in index order through a server-side cursor;
+     * must be consumed inside a transaction and closed
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT o FROM orders o WHERE o.status = :status ORDER BY o.orderDate, o.Id")
+    Stream<Order> streamByStatus(@Param("status") Order.OrderStatus status);
+
+    /**
+     * (id, orderDate) of every order in a status; used to rebuild the pending-order expiry wheel
+     */
+    @Query("SELECT o.Id, o.orderDate FROM orders o WHERE o.status = :status")
+    List<Object[]> findIdAndOrderDateByStatus(@Param("status") Order.OrderStatus status);
+
+    /**
+     * (id, orderDate) of the given orders that are in a status; used to reschedule orders an expiry batch skipped
+     */
+    @Query("SELECT o.Id, o.orderDate FROM orders o WHERE o.Id IN :ids AND o.status = :status")
+    List<Object[]> findIdAndOrderDateByIdInAndStatus(@Param("ids") Collection<UUID> ids,
+                                                     @Param("status") Order.OrderStatus status);
+
+    /**
+     * Lock the orders of an expiry batch that are still PENDING and were placed before the cutoff;
+     * rows cancelled or paid meanwhile, including by another instance, are not returned
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM orders o WHERE o.Id IN :ids AND o.status = 'PENDING' AND o.orderDate <= :placedBefore")
+    List<Order> lockPendingPlacedBefore(@Param("ids") Collection<UUID> ids,
+                                        @Param("placedBefore") LocalDateTime placedBefore);
+
+    /**
+     * Lock the orders of a bulk status change chunk
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM orders o WHERE o.Id IN :ids")
+    List<Order> lockAllByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Set-based status change of already validated orders; shipped and delivered dates are only
+     * overwritten when given. Bumps the version so concurrent single-order updates of these rows retry
+     * Bypasses the persistence context, which is flushed before and cleared after
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE orders o SET o.status = :status, " +
+            "o.shippedDate = COALESCE(:shippedDate, o.shippedDate), " +
+            "o.deliveredDate = COALESCE(:deliveredDate, o.deliveredDate), " +
+            "o.modifiedOn = :now, o.version = o.version + 1 WHERE o.Id IN :ids")
+    int updateStatus(@Param("ids") Collection<UUID> ids,
+                     @Param("status") Order.OrderStatus status,
+                     @Param("shippedDate") LocalDateTime shippedDate,
+                     @Param("deliveredDate") LocalDateTime deliveredDate,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Lock the oldest orders of one status placed before the cutoff; an index-ordered range read of
+     * idx_orders_status_order_date_id that stops after one archive chunk
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM orders o WHERE o.status = :status AND o.orderDate < :placedBefore " +
+            "ORDER BY o.orderDate, o.Id")
+    List<Order> lockOldestByStatusPlacedBefore(@Param("status") Order.OrderStatus status,
+                                               @Param("placedBefore") LocalDateTime placedBefore,
+                                               Pageable pageable);
+
+    /**
+     * Delete archived orders after their items and status history; clears the persistence context
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM orders o WHERE o.Id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -2,8 +2,12 @@ package com.dag.productservice.dao.schema;
 
 import com.dag.productservice.models.OrderStatusHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,4 +17,8 @@ public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusH
     List<OrderStatusHistory> findByOrderId(UUID orderId);
 
     List<OrderStatusHistory> findByOrderIdOrderByChangedOnDesc(UUID orderId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM order_status_history h WHERE h.order.Id IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
 }
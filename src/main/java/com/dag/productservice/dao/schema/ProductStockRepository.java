@@ -0,0 +1,30 @@
+package com.dag.productservice.dao.schema;
+
+import com.dag.productservice.models.ProductStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface ProductStockRepository extends JpaRepository<ProductStock, UUID> {
+
+    /**
+     * Relative update used by the write-behind flush, so instances never overwrite each other's deltas
+     */
+    @Modifying
+    @Query("UPDATE ProductStock s SET s.reserved = s.reserved + :delta, s.modifiedOn = :now " +
+            "WHERE s.productId = :productId")
+    int addReserved(@Param("productId") UUID productId, @Param("delta") long delta,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ProductStock s SET s.onHand = s.onHand + :delta, s.modifiedOn = :now " +
+            "WHERE s.productId = :productId")
+    int addOnHand(@Param("productId") UUID productId, @Param("delta") long delta,
+                  @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,37 @@
+package com.dag.productservice.dto;
+
+import com.dag.productservice.models.Order;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderStatusUpdateRequestDto {
+
+    /**
+     * Largest number of transitions accepted in one request
+     */
+    public static final int MAX_TRANSITIONS = 10_000;
+
+    private List<Transition> transitions;
+    /**
+     * Recorded on every status history row of the request
+     */
+    private String notes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Transition {
+        private UUID orderId;
+        private Order.OrderStatus status;
+    }
+}
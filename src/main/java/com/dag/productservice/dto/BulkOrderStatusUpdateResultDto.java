@@ -0,0 +1,35 @@
+package com.dag.productservice.dto;
+
+import com.dag.productservice.models.Order;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderStatusUpdateResultDto {
+
+    private int succeeded;
+    private int failed;
+    /**
+     * One entry per requested transition, in request order
+     */
+    private List<Result> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private String orderId;
+        private Order.OrderStatus previousStatus;
+        private Order.OrderStatus status;
+        private boolean success;
+        private String error;
+    }
+}
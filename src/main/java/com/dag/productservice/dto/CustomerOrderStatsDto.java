@@ -0,0 +1,28 @@
+package com.dag.productservice.dto;
+
+import com.dag.productservice.models.CustomerOrderStats;
+import com.dag.productservice.models.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOrderStatsDto {
+
+    private String customerId;
+    private long orderCount;
+    private BigDecimal lifetimeSpend;
+    private LocalDateTime lastOrderDate;
+    private Map<Order.OrderStatus, Long> statusCounts;
+
+    public CustomerOrderStatsDto(CustomerOrderStats stats) {
+        this(stats.getCustomerId(), stats.getOrderCount(), stats.getLifetimeSpend(), stats.getLastOrderDate(),
+                stats.getStatusCounts());
+    }
+}
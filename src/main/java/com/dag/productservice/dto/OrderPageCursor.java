@@ -0,0 +1,42 @@
+package com.dag.productservice.dto;
+
+import com.dag.productservice.models.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for order listings by status
+ * Encodes the listed status and the (orderDate, id) key of the last row of the previous page
+ */
+@Getter
+@AllArgsConstructor
+public class OrderPageCursor {
+
+    private final Order.OrderStatus status;
+    private final LocalDateTime orderDate;
+    private final UUID id;
+
+    public String encode() {
+        String raw = status.name() + "|" + orderDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderPageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new OrderPageCursor(Order.OrderStatus.valueOf(parts[0]), LocalDateTime.parse(parts[1]),
+                    UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.dag.productservice.dto;
+
+import com.dag.productservice.models.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of an order listing, newest first; nextCursor is null on the last page
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderPageDto {
+    List<OrderResponseDto> items;
+    String nextCursor;
+    int limit;
+
+    /**
+     * Largest page a client may request
+     */
+    public static final int MAX_LIMIT = 200;
+
+    /**
+     * Build a page from rows fetched with limit + 1, using the extra row only to detect a next page
+     */
+    public static OrderPageDto of(List<Order> rows, Order.OrderStatus status, int limit,
+                                  Function<Order, OrderResponseDto> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<Order> pageRows = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Order last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new OrderPageCursor(status, last.getOrderDate(), last.getId()).encode();
+        }
+        List<OrderResponseDto> items = pageRows.stream().map(mapper).collect(Collectors.toList());
+        return new OrderPageDto(items, nextCursor, limit);
+    }
+
+    /**
+     * Validate paging parameters and decode the cursor, which must have been issued for the same status
+     * @return Decoded cursor, or null for the first page
+     */
+    public static OrderPageCursor parseCursor(String cursor, int limit, Order.OrderStatus status) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        OrderPageCursor decoded = OrderPageCursor.decode(cursor);
+        if (decoded.getStatus() != status) {
+            throw new IllegalArgumentException("Cursor does not match status: " + status);
+        }
+        return decoded;
+    }
+}
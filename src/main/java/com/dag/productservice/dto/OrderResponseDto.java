@@ -40,6 +40,8 @@ public class OrderResponseDto {
         private String id;
         private String productId;
         private String productName;
+        private String productTitle;
+        private String currency;
         private Integer quantity;
         private BigDecimal unitPrice;
         private BigDecimal totalPrice;
@@ -0,0 +1,34 @@
+package com.dag.productservice.dto;
+
+import com.dag.productservice.models.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Order list row: the columns the customer order list shows, read straight from the orders table
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryDto {
+
+    private String id;
+    private String orderNumber;
+    private LocalDateTime orderDate;
+    private Order.OrderStatus status;
+    private BigDecimal totalAmount;
+    private String currency;
+
+    /**
+     * JPQL constructor projection used by OrderRepository
+     */
+    public OrderSummaryDto(UUID id, String orderNumber, LocalDateTime orderDate, Order.OrderStatus status,
+                           BigDecimal totalAmount, String currency) {
+        this(id.toString(), orderNumber, orderDate, status, totalAmount, currency);
+    }
+}
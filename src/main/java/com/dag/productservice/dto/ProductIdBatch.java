@@ -0,0 +1,60 @@
+package com.dag.productservice.dto;
+
+import com.dag.productservice.validators.Validators;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validation and ordering rules shared by the batch product lookup implementations
+ */
+public final class ProductIdBatch {
+
+    /**
+     * Largest number of IDs a client may request at once
+     */
+    public static final int MAX_IDS = 100;
+
+    private ProductIdBatch() {
+    }
+
+    /**
+     * Validate requested IDs, canonicalize them and drop duplicates, keeping the order of first appearance
+     */
+    public static List<String> normalize(Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        Set<String> unique = new LinkedHashSet<>();
+        for (String id : ids) {
+            String trimmed = id != null ? id.trim() : null;
+            if (!Validators.UUID_VALIDATOR.get().isValid(trimmed))
+                throw new IllegalArgumentException("Invalid input");
+            // Canonical lower-case form, matching ProductResponseDto IDs and cache keys
+            unique.add(trimmed.toLowerCase(Locale.ROOT));
+        }
+        if (unique.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " ids can be requested at once");
+        }
+        return new ArrayList<>(unique);
+    }
+
+    /**
+     * Order found products as requested; unknown IDs are left out
+     */
+    public static List<ProductResponseDto> inRequestOrder(List<String> ids, Map<String, ProductResponseDto> found) {
+        List<ProductResponseDto> products = new ArrayList<>(found.size());
+        for (String id : ids) {
+            ProductResponseDto product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+}
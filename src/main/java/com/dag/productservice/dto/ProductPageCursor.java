@@ -0,0 +1,65 @@
+package com.dag.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for product listing pages
+ * Encodes the sort order and the sort key of the last row of the previous page
+ */
+@Getter
+@AllArgsConstructor
+public class ProductPageCursor {
+
+    public enum Sort {
+        ID("id"),
+        CREATED_ON("createdOn");
+
+        private final String parameter;
+
+        Sort(String parameter) {
+            this.parameter = parameter;
+        }
+
+        public String getParameter() {
+            return parameter;
+        }
+
+        public static Sort fromParameter(String parameter) {
+            for (Sort sort : values()) {
+                if (sort.parameter.equalsIgnoreCase(parameter)) {
+                    return sort;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort: " + parameter);
+        }
+    }
+
+    private final Sort sort;
+    private final LocalDateTime createdOn;
+    private final UUID id;
+
+    public String encode() {
+        String raw = sort.name() + "|" + (createdOn != null ? createdOn.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductPageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime createdOn = parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]);
+            return new ProductPageCursor(Sort.valueOf(parts[0]), createdOn, UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
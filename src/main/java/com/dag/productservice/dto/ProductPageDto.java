@@ -0,0 +1,62 @@
+package com.dag.productservice.dto;
+
+import com.dag.productservice.models.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * One page of the product listing; nextCursor is null on the last page
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductPageDto {
+    List<ProductResponseDto> items;
+    String nextCursor;
+    int limit;
+
+    /**
+     * Largest page a client may request
+     */
+    public static final int MAX_LIMIT = 200;
+
+    /**
+     * Build a page from rows fetched with limit + 1, using the extra row only to detect a next page
+     */
+    public static ProductPageDto of(List<Product> rows, ProductPageCursor.Sort sort, int limit) {
+        boolean hasNext = rows.size() > limit;
+        List<Product> pageRows = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Product last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new ProductPageCursor(sort, last.getCreatedOn(), last.getId()).encode();
+        }
+        // Mutable list so the page round-trips through the JSON cache serializer
+        List<ProductResponseDto> items = pageRows.stream().map(ProductResponseDto::new).collect(Collectors.toList());
+        return new ProductPageDto(items, nextCursor, limit);
+    }
+
+    /**
+     * Validate paging parameters and decode the cursor, which must match the requested sort
+     * @return Decoded cursor, or null for the first page
+     */
+    public static ProductPageCursor parseCursor(String cursor, int limit, ProductPageCursor.Sort sort) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        ProductPageCursor decoded = ProductPageCursor.decode(cursor);
+        if (decoded.getSort() != sort) {
+            throw new IllegalArgumentException("Cursor does not match sort: " + sort.getParameter());
+        }
+        return decoded;
+    }
+}
@@ -7,6 +7,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.UUID;
+
 @Getter
 @Setter
 @AllArgsConstructor
@@ -19,6 +21,13 @@ public class ProductResponseDto {
     String category;
     String description;
 
+    /**
+     * Projection constructor used by LocalProductRepository's JPQL constructor expressions
+     */
+    public ProductResponseDto(UUID id, String name, String title, Price price, String category, String description) {
+        this(String.valueOf(id), name, title, price, category, description);
+    }
+
     //Write Copy Constructor of Existing class, which will take Product as input and return ProductResponseDto as output.
     public ProductResponseDto(Product product) {
         this.id = String.valueOf(product.getId());
@@ -0,0 +1,24 @@
+package com.dag.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockDto {
+
+    private String productId;
+    private long onHand;
+    /**
+     * Reserved units as stored, plus reservations of this instance not written behind yet
+     */
+    private long reserved;
+    /**
+     * Units the reservation counters will still sell
+     */
+    private long available;
+}
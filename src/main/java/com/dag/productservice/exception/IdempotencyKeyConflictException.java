@@ -0,0 +1,19 @@
+package com.dag.productservice.exception;
+
+/**
+ * Exception thrown when an Idempotency-Key cannot be honoured: either it was first used with
+ * a different request body, or the original request is still in flight
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    private final boolean inFlight;
+
+    public IdempotencyKeyConflictException(String message, boolean inFlight) {
+        super(message);
+        this.inFlight = inFlight;
+    }
+
+    public boolean isInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,25 @@
+package com.dag.productservice.exception;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Exception thrown when an order asks for more units than are available
+ */
+public class InsufficientStockException extends RuntimeException {
+
+    private final Set<UUID> productIds;
+
+    public InsufficientStockException(Set<UUID> productIds) {
+        super("Insufficient stock for product: " + productIds.stream()
+                .map(UUID::toString)
+                .sorted()
+                .reduce((a, b) -> a + ", " + b)
+                .orElse(""));
+        this.productIds = productIds;
+    }
+
+    public Set<UUID> getProductIds() {
+        return productIds;
+    }
+}
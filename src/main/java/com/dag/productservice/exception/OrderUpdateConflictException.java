@@ -0,0 +1,20 @@
+package com.dag.productservice.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when an order kept changing under a status update until its retries ran out
+ */
+public class OrderUpdateConflictException extends RuntimeException {
+
+    private final UUID orderId;
+
+    public OrderUpdateConflictException(UUID orderId, int attempts, Throwable cause) {
+        super("Order " + orderId + " was modified concurrently; gave up after " + attempts + " attempts", cause);
+        this.orderId = orderId;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+}
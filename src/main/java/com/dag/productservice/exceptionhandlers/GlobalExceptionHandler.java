@@ -7,8 +7,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.dag.productservice.exception.IdempotencyKeyConflictException;
+import com.dag.productservice.exception.InsufficientStockException;
 import com.dag.productservice.exception.NotFoundException;
 import com.dag.productservice.exception.OrderNotFoundException;
+import com.dag.productservice.exception.OrderUpdateConflictException;
 import com.dag.productservice.exception.ProductNotFoundException;
 import com.dag.productservice.exception.RateLimitExceededException;
 
@@ -96,6 +99,59 @@ public class GlobalExceptionHandler {
                            .body(errorResponse);
     }
 
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<Map<String, Object>> handleInsufficientStock(InsufficientStockException ex) {
+        logger.warn("Insufficient stock: {}", ex.getMessage());
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.CONFLICT.value());
+        errorResponse.put("error", "Conflict");
+        errorResponse.put("message", ex.getMessage());
+        errorResponse.put("productIds", ex.getProductIds());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Key reused with another body: 422; original request still running: 409, retry shortly
+     */
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyConflict(IdempotencyKeyConflictException ex) {
+        logger.warn("Idempotency key conflict: {}", ex.getMessage());
+
+        HttpStatus status = ex.isInFlight() ? HttpStatus.CONFLICT : HttpStatus.UNPROCESSABLE_ENTITY;
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", status.value());
+        errorResponse.put("error", status.getReasonPhrase());
+        errorResponse.put("message", ex.getMessage());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (ex.isInFlight()) {
+            response.header("Retry-After", "1");
+        }
+        return response.body(errorResponse);
+    }
+
+    /**
+     * Status update lost every optimistic-lock retry; safe to resubmit
+     */
+    @ExceptionHandler(OrderUpdateConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleOrderUpdateConflict(OrderUpdateConflictException ex) {
+        logger.warn("Order update conflict: {}", ex.getMessage());
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.CONFLICT.value());
+        errorResponse.put("error", "Conflict");
+        errorResponse.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                           .header("Retry-After", "1")
+                           .body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleException(Exception exception){
         logger.error("Unexpected error occurred", exception);
@@ -0,0 +1,63 @@
+package com.dag.productservice.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cold order moved out of orders, order_items and order_status_history by the archival job
+ * Archived orders no longer change, so each is kept as one JSON document of the order API response,
+ * plus the columns needed to look it up and to rebuild customer order stats
+ */
+@Entity
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_order_number", columnList = "order_number", unique = true),
+        @Index(name = "idx_orders_archive_customer_status", columnList = "customer_id, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedOrder implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "id", columnDefinition = "binary(16)", nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "order_number", nullable = false, length = 50)
+    private String orderNumber;
+
+    @Column(name = "customer_id")
+    private String customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Order.OrderStatus status;
+
+    @Column(name = "total_amount", precision = 10, scale = 2, nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(name = "order_date")
+    private LocalDateTime orderDate;
+
+    @Column(name = "archived_on", nullable = false)
+    private LocalDateTime archivedOn;
+
+    @Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String document;
+
+    /**
+     * Rows are only ever inserted with the hot order's ID, so save() persists without selecting first
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
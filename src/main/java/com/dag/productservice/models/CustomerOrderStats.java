@@ -0,0 +1,152 @@
+package com.dag.productservice.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-customer order statistics read model, keyed by customer ID so a read is a primary key lookup
+ * Maintained incrementally by CustomerOrderStatsService and recomputable from the orders table
+ */
+@Entity
+@Table(name = "customer_order_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerOrderStats {
+
+    @Id
+    @Column(name = "customer_id", nullable = false, updatable = false)
+    private String customerId;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    /**
+     * Total of delivered orders
+     */
+    @Column(name = "lifetime_spend", precision = 14, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal lifetimeSpend = BigDecimal.ZERO;
+
+    @Column(name = "last_order_date")
+    private LocalDateTime lastOrderDate;
+
+    @Column(name = "pending_count", nullable = false)
+    private long pendingCount;
+
+    @Column(name = "confirmed_count", nullable = false)
+    private long confirmedCount;
+
+    @Column(name = "processing_count", nullable = false)
+    private long processingCount;
+
+    @Column(name = "shipped_count", nullable = false)
+    private long shippedCount;
+
+    @Column(name = "delivered_count", nullable = false)
+    private long deliveredCount;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private long cancelledCount;
+
+    @Column(name = "refunded_count", nullable = false)
+    private long refundedCount;
+
+    @Column(name = "modified_on")
+    private LocalDateTime modifiedOn;
+
+    public Map<Order.OrderStatus, Long> getStatusCounts() {
+        Map<Order.OrderStatus, Long> counts = new EnumMap<>(Order.OrderStatus.class);
+        counts.put(Order.OrderStatus.PENDING, pendingCount);
+        counts.put(Order.OrderStatus.CONFIRMED, confirmedCount);
+        counts.put(Order.OrderStatus.PROCESSING, processingCount);
+        counts.put(Order.OrderStatus.SHIPPED, shippedCount);
+        counts.put(Order.OrderStatus.DELIVERED, deliveredCount);
+        counts.put(Order.OrderStatus.CANCELLED, cancelledCount);
+        counts.put(Order.OrderStatus.REFUNDED, refundedCount);
+        return counts;
+    }
+
+    /**
+     * Add orders in one status to this row; used when recomputing from the orders table
+     */
+    public void add(Order.OrderStatus status, long count, BigDecimal total, LocalDateTime latestOrderDate) {
+        orderCount += count;
+        switch (status) {
+            case PENDING -> pendingCount += count;
+            case CONFIRMED -> confirmedCount += count;
+            case PROCESSING -> processingCount += count;
+            case SHIPPED -> shippedCount += count;
+            case DELIVERED -> {
+                deliveredCount += count;
+                lifetimeSpend = lifetimeSpend.add(total != null ? total : BigDecimal.ZERO);
+            }
+            case CANCELLED -> cancelledCount += count;
+            case REFUNDED -> refundedCount += count;
+        }
+        if (latestOrderDate != null && (lastOrderDate == null || latestOrderDate.isAfter(lastOrderDate))) {
+            lastOrderDate = latestOrderDate;
+        }
+    }
+
+    /**
+     * Change to one customer's row caused by a single order event, applied as a relative update
+     */
+    @Data
+    public static class Delta {
+        private long orders;
+        private BigDecimal spend = BigDecimal.ZERO;
+        private LocalDateTime orderDate;
+        private final Map<Order.OrderStatus, Long> statusCounts = new EnumMap<>(Order.OrderStatus.class);
+
+        /**
+         * A new order entering its first status, or an existing order moving between statuses
+         * @param from Previous status, or null for a new order
+         */
+        public static Delta of(Order order, Order.OrderStatus from, Order.OrderStatus to) {
+            Delta delta = new Delta();
+            delta.orderDate = order.getOrderDate();
+            if (from == null) {
+                delta.orders = 1;
+            } else {
+                delta.statusCounts.merge(from, -1L, Long::sum);
+            }
+            delta.statusCounts.merge(to, 1L, Long::sum);
+
+            BigDecimal total = order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO;
+            if (to == Order.OrderStatus.DELIVERED && from != Order.OrderStatus.DELIVERED) {
+                delta.spend = total;
+            } else if (from == Order.OrderStatus.DELIVERED && to != Order.OrderStatus.DELIVERED) {
+                delta.spend = total.negate();
+            }
+            return delta;
+        }
+
+        /**
+         * Combine with another delta of the same customer
+         */
+        public Delta plus(Delta other) {
+            Delta sum = new Delta();
+            sum.orders = orders + other.orders;
+            sum.spend = spend.add(other.spend);
+            sum.orderDate = orderDate == null || (other.orderDate != null && other.orderDate.isAfter(orderDate))
+                    ? other.orderDate : orderDate;
+            sum.statusCounts.putAll(statusCounts);
+            other.statusCounts.forEach((status, count) -> sum.statusCounts.merge(status, count, Long::sum));
+            return sum;
+        }
+
+        public long count(String status) {
+            return statusCounts.getOrDefault(Order.OrderStatus.valueOf(status), 0L);
+        }
+    }
+}
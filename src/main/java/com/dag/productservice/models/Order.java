@@ -11,6 +11,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_status_order_date_id", columnList = "status, order_date, id"),
+        @Index(name = "idx_orders_customer_status_order_date_id", columnList = "customer_id, status, order_date, id"),
+        @Index(name = "idx_orders_customer_order_date_id", columnList = "customer_id, order_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -57,7 +62,29 @@ public class Order extends V0 {
     @Column(name = "delivered_date")
     private LocalDateTime deliveredDate;
 
+    /**
+     * Optimistic lock; entity updates are issued as UPDATE ... WHERE id = ? AND version = ?
+     * and set-based updates must increment it themselves
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public enum OrderStatus {
-        PENDING, CONFIRMED, PROCESSING, SHIPPED, DELIVERED, CANCELLED, REFUNDED
+        PENDING, CONFIRMED, PROCESSING, SHIPPED, DELIVERED, CANCELLED, REFUNDED;
+
+        /**
+         * Forward moves through fulfilment, cancellation before shipping, and refund after delivery
+         */
+        public boolean canTransitionTo(OrderStatus next) {
+            return switch (this) {
+                case PENDING -> next == CONFIRMED || next == PROCESSING || next == CANCELLED;
+                case CONFIRMED -> next == PROCESSING || next == CANCELLED;
+                case PROCESSING -> next == SHIPPED || next == CANCELLED;
+                case SHIPPED -> next == DELIVERED;
+                case DELIVERED -> next == REFUNDED;
+                case CANCELLED, REFUNDED -> false;
+            };
+        }
     }
 }
@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import java.math.BigDecimal;
+import java.util.UUID;
 
 @Entity(name = "order_items")
 @Data
@@ -24,6 +25,24 @@ public class OrderItem extends V0 {
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
+    /**
+     * Read-only view of the product_id foreign key, so reads never need the product row
+     */
+    @Column(name = "product_id", columnDefinition = "binary(16)", insertable = false, updatable = false)
+    private UUID productId;
+
+    /**
+     * Snapshot of the product when the order was placed; unaffected by later catalog changes
+     */
+    @Column(name = "product_name")
+    private String productName;
+
+    @Column(name = "product_title")
+    private String productTitle;
+
+    @Column(name = "currency", length = 10)
+    private String currency;
+
     @Column(nullable = false)
     private Integer quantity;
 
@@ -32,4 +51,10 @@ public class OrderItem extends V0 {
 
     @Column(name = "total_price", precision = 10, scale = 2, nullable = false)
     private BigDecimal totalPrice;
+
+    /**
+     * Whether units were taken from the product's stock when the order was placed; only those are released
+     */
+    @Column(name = "stock_reserved", nullable = false)
+    private boolean stockReserved;
 }
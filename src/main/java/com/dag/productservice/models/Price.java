@@ -1,22 +1,47 @@
 package com.dag.productservice.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
+import jakarta.persistence.Embeddable;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-@Entity
-@Table(name = "prices")
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Price of a product, stored inline on the products row (V1005)
+ * Keeps the ID and audit fields of the former prices row, so product JSON has the same shape as before
+ * Unknown properties are ignored so payloads from other clients still deserialize
+ */
+@Embeddable
+@JsonIgnoreProperties(ignoreUnknown = true)
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-public class Price extends V0 {
-    @Column
+public class Price {
+    @Column(name = "price_id", columnDefinition = "binary(16)")
+    UUID id;
+    @Column(name = "currency", length = 10)
     String currency;
-    @Column
+    @Column(name = "price")
     double price;
+    @Column(name = "price_modified_by")
+    String modifiedBy;
+    @Column(name = "price_modified_on")
+    LocalDateTime modifiedOn;
+    @Column(name = "price_created_by")
+    String createdBy;
+    @Column(name = "price_created_on")
+    LocalDateTime createdOn;
+    @Column(name = "price_is_deleted")
+    Boolean isDeleted;
+
+    public Price(String currency, double price) {
+        this.currency = currency;
+        this.price = price;
+    }
 }
@@ -8,7 +8,9 @@ import lombok.*;
 @Getter
 @Setter
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_created_on_id", columnList = "created_on, id")
+})
 public class Product extends V0 {
     @Column
     @NonNull
@@ -23,7 +25,16 @@ public class Product extends V0 {
     @JoinColumn(name = "category_id")
     private Category category;
 
-    @ManyToOne(cascade = {CascadeType.PERSIST, CascadeType.REMOVE}, fetch = FetchType.LAZY)
-    @JoinColumn(name = "price_id")
+    @Embedded
     private Price price;
+
+    /**
+     * A price without an ID gets one, as a new prices row used to
+     */
+    public void setPrice(Price price) {
+        if (price != null && price.getId() == null) {
+            price.setId(UuidV7Generator.next());
+        }
+        this.price = price;
+    }
 }
@@ -0,0 +1,44 @@
+package com.dag.productservice.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Sellable stock of one product; products without a row are not stock-tracked
+ * reserved is written behind from the in-process or Redis counters, so it can trail
+ * live reservations by one write-behind interval
+ */
+@Entity
+@Table(name = "product_stock")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductStock {
+
+    @Id
+    @Column(name = "product_id", columnDefinition = "binary(16)", nullable = false, updatable = false)
+    private UUID productId;
+
+    @Column(name = "on_hand", nullable = false)
+    private long onHand;
+
+    /**
+     * Units held by orders that were not cancelled
+     */
+    @Column(name = "reserved", nullable = false)
+    private long reserved;
+
+    @Column(name = "modified_on")
+    private LocalDateTime modifiedOn;
+
+    public long getAvailable() {
+        return onHand - reserved;
+    }
+}
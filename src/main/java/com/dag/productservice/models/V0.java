@@ -4,7 +4,6 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.GenericGenerator;
-import org.hibernate.id.uuid.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -16,8 +15,8 @@ public abstract class V0 {
 
     @Id
     @GeneratedValue(generator = "uuid")
-    @GenericGenerator(name = "uuid", strategy = "uuid2")
-    @Column(name = "id", columnDefinition = "binary(36)", nullable = false, updatable = false)
+    @GenericGenerator(name = "uuid", type = UuidV7Generator.class)
+    @Column(name = "id", columnDefinition = "binary(16)", nullable = false, updatable = false)
     protected UUID Id;
     @Column
     protected String modifiedBy;
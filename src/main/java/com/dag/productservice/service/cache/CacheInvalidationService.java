@@ -1,5 +1,6 @@
 package com.dag.productservice.service.cache;
 
+import com.dag.productservice.service.product.CachedLocalProductService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
@@ -21,11 +22,14 @@ public class CacheInvalidationService implements MessageListener {
 
     private final CacheManager cacheManager;
     private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ProductCatalogCache productCatalogCache;
 
     public CacheInvalidationService(CacheManager cacheManager,
-                                    RedisMessageListenerContainer redisMessageListenerContainer) {
+                                    RedisMessageListenerContainer redisMessageListenerContainer,
+                                    ProductCatalogCache productCatalogCache) {
         this.cacheManager = cacheManager;
         this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.productCatalogCache = productCatalogCache;
     }
 
     @PostConstruct
@@ -59,6 +63,7 @@ public class CacheInvalidationService implements MessageListener {
 
     /**
      * Handles cache invalidation based on event type
+     * The products cache is two-tier, so evicting here also drops this node's L1 entry
      */
     private void handleCacheInvalidation(String eventType, String productId) {
         Cache productsCache = cacheManager.getCache("products");
@@ -70,12 +75,16 @@ public class CacheInvalidationService implements MessageListener {
 
         switch (eventType) {
             case "PRODUCT_CREATED":
+                // A previously unknown ID may now exist; drop any negative lookup entry for it
+                Cache missingProductsCache = cacheManager.getCache(CachedLocalProductService.MISSING_PRODUCTS_CACHE);
+                if (missingProductsCache != null) {
+                    missingProductsCache.evict(productId);
+                }
+                // fall through
             case "PRODUCT_UPDATED":
             case "PRODUCT_DELETED":
-                // Invalidate specific product cache
+                // Invalidate specific product cache; the catalog listing is patched by the writer
                 productsCache.evict(productId);
-                // Also invalidate the "all" cache to ensure consistency
-                productsCache.evict("all");
                 log.info("Invalidated cache for product: {} due to event: {}", productId, eventType);
                 break;
 
@@ -92,13 +101,12 @@ public class CacheInvalidationService implements MessageListener {
         Cache productsCache = cacheManager.getCache("products");
         if (productsCache != null) {
             productsCache.evict(productId);
-            productsCache.evict("all");
             log.info("Manually invalidated cache for product: {}", productId);
         }
     }
 
     /**
-     * Manually invalidate all product caches
+     * Manually invalidate all product caches, including the catalog listing
      */
     public void invalidateAllProductCache() {
         Cache productsCache = cacheManager.getCache("products");
@@ -106,5 +114,6 @@ public class CacheInvalidationService implements MessageListener {
             productsCache.clear();
             log.info("Manually invalidated all product caches");
         }
+        productCatalogCache.invalidate();
     }
 }
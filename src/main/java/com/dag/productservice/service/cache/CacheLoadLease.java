@@ -0,0 +1,95 @@
+package com.dag.productservice.service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived Redis lease used to let only one node load a missing cache entry at a time
+ * Nodes that lose the race poll the shared cache until the winner has populated it or released the lease
+ */
+@Slf4j
+public class CacheLoadLease {
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration leaseTtl;
+    private final Duration pollInterval;
+    private final String owner = UUID.randomUUID().toString();
+
+    public CacheLoadLease(StringRedisTemplate redisTemplate, Duration leaseTtl, Duration pollInterval) {
+        this.redisTemplate = redisTemplate;
+        this.leaseTtl = leaseTtl;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Try to acquire the load lease for a cache key
+     * @return true if this node should run the loader
+     */
+    public boolean tryAcquire(String cacheName, Object key) {
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(leaseKey(cacheName, key), owner, leaseTtl);
+            return Boolean.TRUE.equals(acquired);
+        } catch (Exception e) {
+            // Never block a load because the lease store is unavailable
+            log.warn("Failed to acquire cache load lease for {}::{}: {}", cacheName, key, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Release the lease if it is still held by this node
+     */
+    public void release(String cacheName, Object key) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(leaseKey(cacheName, key)), owner);
+        } catch (Exception e) {
+            log.warn("Failed to release cache load lease for {}::{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    /**
+     * Poll until the probe yields a value or the lease is no longer held
+     * A holder whose loader failed releases the lease without populating the cache, so waiting stops
+     * as soon as the lease key is gone rather than running out the full lease TTL
+     * @return Value produced by the probe, or null if the lease holder did not populate it
+     */
+    public <T> T awaitValue(String cacheName, Object key, Supplier<T> probe) throws InterruptedException {
+        String leaseKey = leaseKey(cacheName, key);
+        long deadline = System.nanoTime() + leaseTtl.toNanos();
+        while (System.nanoTime() < deadline) {
+            T value = probe.get();
+            if (value != null) {
+                return value;
+            }
+            if (!isHeld(leaseKey)) {
+                // The holder may have populated the cache just before releasing
+                return probe.get();
+            }
+            Thread.sleep(pollInterval.toMillis());
+        }
+        return null;
+    }
+
+    private boolean isHeld(String leaseKey) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(leaseKey));
+        } catch (Exception e) {
+            log.warn("Failed to check cache load lease {}: {}", leaseKey, e.getMessage());
+            return false;
+        }
+    }
+
+    private String leaseKey(String cacheName, Object key) {
+        return "lease:" + cacheName + "::" + key;
+    }
+}
@@ -0,0 +1,140 @@
+package com.dag.productservice.service.cache;
+
+import com.dag.productservice.dto.ProductResponseDto;
+import com.dag.productservice.service.product.CachedLocalProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-key access to the "products" cache for batch lookups
+ * Hits are resolved from L1 and then with a single MGET; misses are backfilled with one pipelined write
+ * Entries are written in the same format @Cacheable uses, so single-product reads see them too
+ */
+@Service
+@Slf4j
+public class ProductBatchCache {
+
+    private final CacheManager cacheManager;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration entryTtl;
+
+    public ProductBatchCache(CacheManager cacheManager,
+                             RedisTemplate<String, Object> redisTemplate,
+                             @Value("${cache.ttl:1h}") Duration entryTtl) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.entryTtl = entryTtl;
+    }
+
+    /**
+     * Resolve cached products for the given IDs
+     * @param ids Product IDs to look up
+     * @return Cached products keyed by ID; IDs missing from the map were not cached
+     */
+    public Map<String, ProductResponseDto> getAll(Collection<String> ids) {
+        Map<String, ProductResponseDto> hits = new LinkedHashMap<>();
+        TwoTierCache twoTierCache = getTwoTierCache();
+
+        List<String> remoteIds = new ArrayList<>();
+        for (String id : ids) {
+            Cache.ValueWrapper wrapper = twoTierCache != null ? twoTierCache.getLocal(id) : null;
+            if (wrapper != null && wrapper.get() instanceof ProductResponseDto product) {
+                hits.put(id, product);
+            } else {
+                remoteIds.add(id);
+            }
+        }
+        if (remoteIds.isEmpty()) {
+            return hits;
+        }
+
+        List<Object> values;
+        try {
+            values = redisTemplate.opsForValue().multiGet(remoteIds.stream().map(this::cacheKey).toList());
+        } catch (DataAccessException e) {
+            log.warn("Failed to multi-get {} products from Redis, treating them as misses: {}",
+                    remoteIds.size(), e.getMessage());
+            return hits;
+        }
+        if (values == null) {
+            return hits;
+        }
+
+        for (int i = 0; i < remoteIds.size() && i < values.size(); i++) {
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            Object unwrapped = TwoTierCache.toValueWrapper(value).get();
+            if (unwrapped instanceof ProductResponseDto product) {
+                hits.put(remoteIds.get(i), product);
+                if (twoTierCache != null) {
+                    twoTierCache.putLocal(remoteIds.get(i), value);
+                }
+            }
+        }
+        log.debug("Batch cache lookup: {} of {} products cached", hits.size(), ids.size());
+        return hits;
+    }
+
+    /**
+     * Backfill loaded products into both cache tiers with a single pipelined round trip
+     * @param products Products loaded from the database
+     * @param loadMillis How long the database load took, used by refresh-ahead
+     */
+    public void putAll(Collection<ProductResponseDto> products, long loadMillis) {
+        if (products.isEmpty()) {
+            return;
+        }
+        TwoTierCache twoTierCache = getTwoTierCache();
+
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (ProductResponseDto product : products) {
+            Object value = twoTierCache != null ? twoTierCache.toRemoteValue(product, loadMillis) : product;
+            entries.put(product.getId(), value);
+        }
+
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    // operations is redisTemplate bound to the pipelined connection; use the typed reference
+                    entries.forEach((id, value) -> redisTemplate.opsForValue().set(cacheKey(id), value, entryTtl));
+                    return null;
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("Failed to backfill {} products into Redis: {}", entries.size(), e.getMessage());
+            return;
+        }
+
+        if (twoTierCache != null) {
+            entries.forEach(twoTierCache::putLocal);
+        }
+        log.debug("Backfilled {} products into cache", entries.size());
+    }
+
+    private String cacheKey(String id) {
+        // Same key layout as RedisCacheManager's default prefix, e.g. products::<id>
+        return CacheKeyPrefix.simple().compute(CachedLocalProductService.PRODUCTS_CACHE) + id;
+    }
+
+    private TwoTierCache getTwoTierCache() {
+        return cacheManager.getCache(CachedLocalProductService.PRODUCTS_CACHE) instanceof TwoTierCache twoTierCache ? twoTierCache : null;
+    }
+}
@@ -0,0 +1,218 @@
+package com.dag.productservice.service.cache;
+
+import com.dag.productservice.dto.ProductResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Incrementally maintained product catalog stored as a Redis hash keyed by product ID
+ * Writes patch a single field instead of evicting the whole listing, so getAllProducts
+ * only falls back to a full table scan when the hash does not exist yet or has expired
+ * Every patch bumps a version counter; a rebuild only swaps its snapshot in if no patch ran
+ * since it started loading, so a write racing a rebuild is never overwritten by stale rows
+ */
+@Service
+@Slf4j
+public class ProductCatalogCache {
+
+    static final String CATALOG_KEY = "product-catalog";
+    static final String VERSION_KEY = CATALOG_KEY + ":version";
+
+    /**
+     * Bump the version, then patch the field only if the catalog exists, so a patch never creates a partial catalog
+     */
+    private static final DefaultRedisScript<Long> PATCH_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('incr', KEYS[2]) " +
+            "if redis.call('exists', KEYS[1]) == 1 then return redis.call('hset', KEYS[1], ARGV[1], ARGV[2]) end " +
+            "return -1",
+            Long.class);
+
+    /**
+     * Bump the version and delete the field
+     */
+    private static final DefaultRedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('incr', KEYS[2]) return redis.call('hdel', KEYS[1], ARGV[1])",
+            Long.class);
+
+    /**
+     * Bump the version and drop the catalog
+     */
+    private static final DefaultRedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('incr', KEYS[2]) return redis.call('del', KEYS[1])",
+            Long.class);
+
+    /**
+     * Swap the rebuilt hash in only if the version is still the one read before loading;
+     * otherwise discard it. KEYS: rebuild hash, catalog, version; ARGV: expected version
+     */
+    private static final DefaultRedisScript<Long> SWAP_IF_UNCHANGED_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('get', KEYS[3]) or '0' " +
+            "if current ~= ARGV[1] then redis.call('del', KEYS[1]) return 0 end " +
+            "redis.call('rename', KEYS[1], KEYS[2]) return 1",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration catalogTtl;
+    private final GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+    private final SingleFlight rebuilds = new SingleFlight();
+
+    public ProductCatalogCache(RedisTemplate<String, Object> redisTemplate,
+                               StringRedisTemplate stringRedisTemplate,
+                               @Value("${cache.ttl:1h}") Duration catalogTtl) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.catalogTtl = catalogTtl;
+    }
+
+    /**
+     * Assemble the catalog from the hash, rebuilding it with the loader when it is missing
+     * @param loader Full catalog loader, used only when the hash has to be rebuilt
+     * @return All products in the catalog
+     */
+    public List<ProductResponseDto> getAll(Supplier<List<ProductResponseDto>> loader) {
+        List<Object> entries;
+        try {
+            entries = redisTemplate.opsForHash().values(CATALOG_KEY);
+        } catch (Exception e) {
+            log.warn("Failed to read product catalog from Redis, loading from database: {}", e.getMessage());
+            return loader.get();
+        }
+
+        if (entries != null && !entries.isEmpty()) {
+            // HVALS order is arbitrary; IDs are time-ordered, so this is creation order
+            return entries.stream()
+                    .map(ProductResponseDto.class::cast)
+                    .sorted(Comparator.comparing(ProductResponseDto::getId))
+                    .toList();
+        }
+
+        try {
+            // Concurrent readers on this node share one rebuild
+            return rebuilds.execute(CATALOG_KEY, () -> rebuild(loader));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to rebuild product catalog", e);
+        }
+    }
+
+    /**
+     * Insert or replace a single product in the catalog once the surrounding transaction commits
+     */
+    public void upsert(ProductResponseDto product) {
+        afterCommit(() -> {
+            try {
+                String json = new String(serializer.serialize(product), StandardCharsets.UTF_8);
+                stringRedisTemplate.execute(PATCH_SCRIPT, List.of(CATALOG_KEY, VERSION_KEY), product.getId(), json);
+                log.debug("Patched product catalog entry: {}", product.getId());
+            } catch (Exception e) {
+                log.warn("Failed to patch product catalog entry {}, dropping catalog: {}", product.getId(), e.getMessage());
+                invalidate();
+            }
+        });
+    }
+
+    /**
+     * Remove a single product from the catalog once the surrounding transaction commits
+     */
+    public void remove(String productId) {
+        afterCommit(() -> {
+            try {
+                stringRedisTemplate.execute(REMOVE_SCRIPT, List.of(CATALOG_KEY, VERSION_KEY), productId);
+                log.debug("Removed product catalog entry: {}", productId);
+            } catch (Exception e) {
+                log.warn("Failed to remove product catalog entry {}, dropping catalog: {}", productId, e.getMessage());
+                invalidate();
+            }
+        });
+    }
+
+    /**
+     * Drop the whole catalog; the next read rebuilds it and rebuilds already loading are discarded
+     */
+    public void invalidate() {
+        try {
+            stringRedisTemplate.execute(INVALIDATE_SCRIPT, List.of(CATALOG_KEY, VERSION_KEY));
+        } catch (Exception e) {
+            log.warn("Failed to drop product catalog: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Patches of a rolled back write must never reach the catalog
+     */
+    private static void afterCommit(Runnable patch) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            patch.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                patch.run();
+            }
+        });
+    }
+
+    /**
+     * Build the catalog into a temporary hash and atomically swap it in, unless a write was applied
+     * after the version was read; readers never observe a half-built or stale catalog
+     */
+    private List<ProductResponseDto> rebuild(Supplier<List<ProductResponseDto>> loader) {
+        String version;
+        try {
+            version = stringRedisTemplate.opsForValue().get(VERSION_KEY);
+        } catch (Exception e) {
+            log.warn("Failed to read product catalog version, loading from database: {}", e.getMessage());
+            return sorted(loader.get());
+        }
+        List<ProductResponseDto> products = sorted(loader.get());
+        if (products.isEmpty()) {
+            return products;
+        }
+
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (ProductResponseDto product : products) {
+            entries.put(product.getId(), product);
+        }
+
+        String rebuildKey = CATALOG_KEY + ":rebuild:" + UUID.randomUUID();
+        try {
+            redisTemplate.opsForHash().putAll(rebuildKey, entries);
+            redisTemplate.expire(rebuildKey, catalogTtl);
+            Long swapped = stringRedisTemplate.execute(SWAP_IF_UNCHANGED_SCRIPT,
+                    List.of(rebuildKey, CATALOG_KEY, VERSION_KEY), version != null ? version : "0");
+            if (swapped != null && swapped == 1) {
+                log.info("Rebuilt product catalog with {} entries", entries.size());
+            } else {
+                log.info("Discarded product catalog rebuild; the catalog was written to while loading");
+            }
+        } catch (Exception e) {
+            log.warn("Failed to rebuild product catalog in Redis: {}", e.getMessage());
+        }
+        return products;
+    }
+
+    private static List<ProductResponseDto> sorted(List<ProductResponseDto> products) {
+        return products.stream()
+                .sorted(Comparator.comparing(ProductResponseDto::getId))
+                .toList();
+    }
+}
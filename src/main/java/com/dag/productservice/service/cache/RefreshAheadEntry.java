@@ -0,0 +1,18 @@
+package com.dag.productservice.service.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Envelope stored in the shared cache tier for refresh-ahead caches
+ * Carries the write time and load duration needed to decide on early refresh
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshAheadEntry {
+    private Object value;
+    private long loadedAt;
+    private long loadMillis;
+}
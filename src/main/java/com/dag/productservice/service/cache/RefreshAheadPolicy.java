@@ -0,0 +1,47 @@
+package com.dag.productservice.service.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Probabilistic early refresh (XFetch) policy for a single cache
+ * An entry becomes eligible for refresh with a probability that rises sharply as it nears its TTL,
+ * scaled by how long it took to load and by beta (higher beta refreshes earlier)
+ */
+public class RefreshAheadPolicy {
+
+    private final double beta;
+    private final long timeToLiveMillis;
+    private final long minimumDeltaMillis;
+
+    public RefreshAheadPolicy(double beta, Duration timeToLive, Duration minimumDelta) {
+        this.beta = beta;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.minimumDeltaMillis = minimumDelta.toMillis();
+    }
+
+    /**
+     * Decide whether a read should trigger a background refresh of the entry
+     * @param loadedAtMillis Epoch millis at which the entry was written
+     * @param loadMillis Time it took to compute the entry
+     * @param nowMillis Current epoch millis
+     * @return true if the entry should be refreshed now
+     */
+    public boolean shouldRefresh(long loadedAtMillis, long loadMillis, long nowMillis) {
+        if (beta <= 0) {
+            return false;
+        }
+        // Floor the recompute time so very fast loads still get a useful refresh window
+        double delta = Math.max(loadMillis, minimumDeltaMillis);
+        double gap = -delta * beta * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return nowMillis + gap >= loadedAtMillis + timeToLiveMillis;
+    }
+
+    public double getBeta() {
+        return beta;
+    }
+
+    public long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+}
@@ -0,0 +1,329 @@
+package com.dag.productservice.service.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier cache that keeps a bounded in-process L1 (Caffeine) in front of a shared L2 cache (Redis)
+ * Reads are served from L1 when possible, falling back to L2 and promoting the result into L1
+ * Writes and evictions go to both tiers; remote nodes drop their L1 entries via product-cache-events
+ * Synchronized loads are coalesced per key on this node and, when a lease is configured, across nodes
+ * With a refresh-ahead policy, entries nearing expiry are reloaded in the background while still being served
+ */
+@Slf4j
+public class TwoTierCache implements Cache {
+
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> local;
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final CacheLoadLease loadLease;
+    private final RefreshAheadPolicy refreshAheadPolicy;
+    private final Executor refreshExecutor;
+
+    private final Set<Object> refreshingKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicLong refreshCount = new AtomicLong();
+
+    public TwoTierCache(Cache remote, long maximumSize, Duration timeToLive) {
+        this(remote, maximumSize, timeToLive, null, null, null);
+    }
+
+    public TwoTierCache(Cache remote, long maximumSize, Duration timeToLive, CacheLoadLease loadLease,
+                        RefreshAheadPolicy refreshAheadPolicy, Executor refreshExecutor) {
+        this.remote = remote;
+        this.loadLease = loadLease;
+        this.refreshAheadPolicy = refreshExecutor != null ? refreshAheadPolicy : null;
+        this.refreshExecutor = refreshExecutor;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = local.getIfPresent(key);
+        if (wrapper != null) {
+            return wrapper;
+        }
+        wrapper = getRemote(key);
+        if (wrapper != null) {
+            local.put(key, wrapper);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            maybeRefreshAhead(key, wrapper, valueLoader);
+            return (T) wrapper.get();
+        }
+        try {
+            return singleFlight.execute(key, () -> loadThrough(key, valueLoader));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * Load a missing entry once per node, re-checking the shared tier first
+     * When another node holds the load lease, wait for it to populate the shared tier instead
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T loadThrough(Object key, Callable<T> valueLoader) throws InterruptedException {
+        ValueWrapper wrapper = getRemote(key);
+        if (wrapper != null) {
+            local.put(key, wrapper);
+            return (T) wrapper.get();
+        }
+
+        boolean leaseHeld = false;
+        if (loadLease != null) {
+            leaseHeld = loadLease.tryAcquire(getName(), key);
+            if (!leaseHeld) {
+                wrapper = loadLease.awaitValue(getName(), key, () -> getRemote(key));
+                if (wrapper != null) {
+                    local.put(key, wrapper);
+                    return (T) wrapper.get();
+                }
+                log.debug("Lease holder did not populate key: {} in cache: {}, loading locally", key, getName());
+            }
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            T value = valueLoader.call();
+            putEntry(key, value, System.currentTimeMillis() - start);
+            return value;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            if (leaseHeld) {
+                loadLease.release(getName(), key);
+            }
+        }
+    }
+
+    /**
+     * Schedule a background reload if the refresh-ahead policy says the entry is close to expiry
+     * At most one refresh per key runs at a time; if the executor is saturated the refresh is skipped
+     */
+    private void maybeRefreshAhead(Object key, ValueWrapper wrapper, Callable<?> valueLoader) {
+        if (refreshAheadPolicy == null || !(wrapper instanceof TimestampedValueWrapper timestamped)) {
+            return;
+        }
+        if (!refreshAheadPolicy.shouldRefresh(timestamped.getLoadedAt(), timestamped.getLoadMillis(),
+                System.currentTimeMillis())) {
+            return;
+        }
+        if (!refreshingKeys.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> refresh(key, valueLoader));
+        } catch (RejectedExecutionException e) {
+            refreshingKeys.remove(key);
+            log.debug("Refresh-ahead skipped for key: {} in cache: {}, executor saturated", key, getName());
+        }
+    }
+
+    private void refresh(Object key, Callable<?> valueLoader) {
+        try {
+            long start = System.currentTimeMillis();
+            Object value = valueLoader.call();
+            putEntry(key, value, System.currentTimeMillis() - start);
+            refreshCount.incrementAndGet();
+            log.debug("Refreshed key: {} in cache: {} ahead of expiry", key, getName());
+        } catch (Exception e) {
+            // The current entry keeps being served until it expires and is reloaded on demand
+            log.warn("Refresh-ahead failed for key: {} in cache: {}: {}", key, getName(), e.getMessage());
+        } finally {
+            refreshingKeys.remove(key);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        putEntry(key, value, 0);
+    }
+
+    private void putEntry(Object key, Object value, long loadMillis) {
+        Object remoteValue = toRemoteValue(value, loadMillis);
+        remote.put(key, remoteValue);
+        local.put(key, toValueWrapper(remoteValue));
+    }
+
+    /**
+     * Read from the shared tier, unwrapping refresh-ahead envelopes
+     */
+    private ValueWrapper getRemote(Object key) {
+        ValueWrapper wrapper = remote.get(key);
+        return wrapper != null ? toValueWrapper(wrapper.get()) : null;
+    }
+
+    /**
+     * Value as stored in the shared tier: wrapped in a refresh-ahead envelope when this cache has a policy
+     * Used by bulk writers that bypass the Cache interface so entries stay readable by get()
+     */
+    public Object toRemoteValue(Object value, long loadMillis) {
+        if (refreshAheadPolicy == null) {
+            return value;
+        }
+        return new RefreshAheadEntry(value, System.currentTimeMillis(), loadMillis);
+    }
+
+    /**
+     * Wrap a raw shared-tier value, unwrapping refresh-ahead envelopes
+     */
+    static ValueWrapper toValueWrapper(Object remoteValue) {
+        if (remoteValue instanceof RefreshAheadEntry entry) {
+            return new TimestampedValueWrapper(entry.getValue(), entry.getLoadedAt(), entry.getLoadMillis());
+        }
+        return new SimpleValueWrapper(remoteValue);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(key);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+    }
+
+    /**
+     * Look up an entry in this node's L1 only, without falling back to the shared tier
+     */
+    public ValueWrapper getLocal(Object key) {
+        return local.getIfPresent(key);
+    }
+
+    /**
+     * Promote a raw shared-tier value (as read by a bulk reader) into this node's L1
+     */
+    public void putLocal(Object key, Object remoteValue) {
+        local.put(key, toValueWrapper(remoteValue));
+    }
+
+    /**
+     * Drop a single entry from this node's L1 only, leaving the shared tier untouched
+     */
+    public void evictLocal(Object key) {
+        local.invalidate(key);
+        log.debug("Evicted L1 entry for key: {} in cache: {}", key, getName());
+    }
+
+    /**
+     * Drop every entry from this node's L1 only
+     */
+    public void clearLocal() {
+        local.invalidateAll();
+        log.debug("Cleared L1 entries for cache: {}", getName());
+    }
+
+    /**
+     * Hit/miss/eviction counters of the L1 tier
+     */
+    public CacheStats getLocalStats() {
+        return local.stats();
+    }
+
+    /**
+     * Number of synchronized loads that joined another caller's in-flight load
+     */
+    public long getCoalescedLoadCount() {
+        return singleFlight.getCoalescedCount();
+    }
+
+    /**
+     * Number of entries reloaded in the background ahead of their expiry
+     */
+    public long getRefreshAheadCount() {
+        return refreshCount.get();
+    }
+
+    /**
+     * Approximate number of entries currently held in L1
+     */
+    public long getLocalSize() {
+        return local.estimatedSize();
+    }
+
+    /**
+     * Underlying Caffeine cache, exposed for metrics binding
+     */
+    public com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> getLocalCache() {
+        return local;
+    }
+
+    /**
+     * Shared L2 cache this L1 sits in front of
+     */
+    public Cache getRemoteCache() {
+        return remote;
+    }
+
+    /**
+     * Value wrapper that remembers when the value was written and how long it took to load
+     */
+    static class TimestampedValueWrapper extends SimpleValueWrapper {
+
+        private final long loadedAt;
+        private final long loadMillis;
+
+        TimestampedValueWrapper(Object value, long loadedAt, long loadMillis) {
+            super(value);
+            this.loadedAt = loadedAt;
+            this.loadMillis = loadMillis;
+        }
+
+        long getLoadedAt() {
+            return loadedAt;
+        }
+
+        long getLoadMillis() {
+            return loadMillis;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.dag.productservice.service.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * CacheManager that decorates another CacheManager (Redis) with per-node L1 caches
+ * Only caches listed in the configured names get an L1 tier; all others are returned as-is
+ * Two-tier caches also coalesce concurrent loads for the same key (see @Cacheable(sync = true))
+ * and refresh entries ahead of expiry for caches that have a refresh-ahead policy
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, DisposableBean {
+
+    private final CacheManager delegate;
+    private final Set<String> localCacheNames;
+    private final long maximumSize;
+    private final Duration timeToLive;
+    private final MeterRegistry meterRegistry;
+    private final CacheLoadLease loadLease;
+    private final Map<String, RefreshAheadPolicy> refreshAheadPolicies;
+    private final ExecutorService refreshExecutor;
+
+    private final ConcurrentHashMap<String, TwoTierCache> cacheMap = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager delegate, Set<String> localCacheNames,
+                               long maximumSize, Duration timeToLive, MeterRegistry meterRegistry,
+                               CacheLoadLease loadLease, Map<String, RefreshAheadPolicy> refreshAheadPolicies,
+                               ExecutorService refreshExecutor) {
+        this.delegate = delegate;
+        this.localCacheNames = localCacheNames;
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+        this.meterRegistry = meterRegistry;
+        this.loadLease = loadLease;
+        this.refreshAheadPolicies = refreshAheadPolicies;
+        this.refreshExecutor = refreshExecutor;
+        log.info("Two-tier caching enabled for caches: {} (L1 max size: {}, L1 TTL: {}, refresh-ahead: {})",
+                localCacheNames, maximumSize, timeToLive, refreshAheadPolicies.keySet());
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!localCacheNames.contains(name)) {
+            return delegate.getCache(name);
+        }
+        TwoTierCache cache = cacheMap.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remote = delegate.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return cacheMap.computeIfAbsent(name, n -> createTwoTierCache(n, remote));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private TwoTierCache createTwoTierCache(String name, Cache remote) {
+        TwoTierCache cache = new TwoTierCache(remote, maximumSize, timeToLive, loadLease,
+                refreshAheadPolicies.get(name), refreshExecutor);
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache.getLocalCache(), name + ".l1");
+            FunctionCounter.builder("cache.loads.coalesced", cache, TwoTierCache::getCoalescedLoadCount)
+                    .tag("cache", name)
+                    .description("Cache loads served by another caller's in-flight load")
+                    .register(meterRegistry);
+            FunctionCounter.builder("cache.refresh.ahead", cache, TwoTierCache::getRefreshAheadCount)
+                    .tag("cache", name)
+                    .description("Cache entries reloaded in the background ahead of expiry")
+                    .register(meterRegistry);
+        }
+        return cache;
+    }
+
+    @Override
+    public void destroy() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+}
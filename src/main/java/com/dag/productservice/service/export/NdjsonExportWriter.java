@@ -0,0 +1,91 @@
+package com.dag.productservice.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes entity rows to a stream as NDJSON, one DTO document per line
+ * Rows are read through a server-side cursor and the persistence context is cleared in chunks,
+ * so heap use stays flat however many rows are exported
+ * @param <D> DTO written for each row
+ */
+@Slf4j
+public class NdjsonExportWriter<D> {
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter writer;
+    private final int clearInterval;
+
+    public NdjsonExportWriter(Class<D> dtoType,
+                              ObjectMapper objectMapper,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              int clearInterval) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Jackson would otherwise close the response stream after the first line and flush after every line
+        this.writer = objectMapper.writerFor(dtoType)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.clearInterval = clearInterval;
+    }
+
+    /**
+     * Write every row to the stream as one JSON document per line
+     * Runs in its own read-only transaction because StreamingResponseBody executes off the request thread
+     * @param rows Opens the row stream inside the transaction; the stream is closed when the export ends
+     * @param toDto Maps a row to the document written for it
+     * @param out Response stream; flushed but not closed
+     * @param description What is exported, for logs and errors, e.g. "products"
+     * @return Number of rows written
+     */
+    public <E> long write(Supplier<Stream<E>> rows, Function<E, D> toDto, OutputStream out, String description) {
+        long start = System.nanoTime();
+        Long written = readOnlyTransaction.execute(status -> writeAll(rows, toDto, out, description));
+        long count = written != null ? written : 0;
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+        log.info("Exported {} {} in {} ms ({} rows/sec)", count, description, Math.round(seconds * 1000),
+                seconds > 0 ? Math.round(count / seconds) : count);
+        return count;
+    }
+
+    private <E> long writeAll(Supplier<Stream<E>> rows, Function<E, D> toDto, OutputStream out, String description) {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, OUTPUT_BUFFER_SIZE);
+        long count = 0;
+        try (Stream<E> stream = rows.get()) {
+            Iterator<E> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(buffered, toDto.apply(iterator.next()));
+                buffered.write('\n');
+                if (++count % clearInterval == 0) {
+                    // Detach what has already been written so the persistence context does not grow with the export
+                    entityManager.clear();
+                }
+            }
+            buffered.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export of " + description + " aborted after " + count + " rows", e);
+        }
+        return count;
+    }
+}
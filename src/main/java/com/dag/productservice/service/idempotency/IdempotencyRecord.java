@@ -0,0 +1,24 @@
+package com.dag.productservice.service.idempotency;
+
+import java.util.UUID;
+
+/**
+ * State stored under an idempotency key
+ * @param fingerprint Hash of the request body the key was first used with
+ * @param claimId Random ID of the request holding the claim, so only that request can release it
+ * @param response Serialized response once the request has completed; null while it is in flight
+ */
+public record IdempotencyRecord(String fingerprint, String claimId, String response) {
+
+    public static IdempotencyRecord inFlight(String fingerprint) {
+        return new IdempotencyRecord(fingerprint, UUID.randomUUID().toString(), null);
+    }
+
+    public IdempotencyRecord completed(String response) {
+        return new IdempotencyRecord(fingerprint, claimId, response);
+    }
+
+    public boolean isCompleted() {
+        return response != null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.dag.productservice.service.idempotency;
+
+import java.time.Duration;
+
+/**
+ * TTL store for idempotency keys
+ * A key is first claimed with an in-flight record, then either completed with the response
+ * or released when the request failed, so a retry can run it again
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Atomically store the in-flight record unless the key is already present
+     * @return null if the claim was taken, otherwise the record already stored under the key
+     */
+    IdempotencyRecord claim(String key, IdempotencyRecord inFlight, Duration ttl);
+
+    /**
+     * Replace the claim with the completed record
+     */
+    void complete(String key, IdempotencyRecord completed, Duration ttl);
+
+    /**
+     * Remove the claim if it is still the given in-flight record
+     */
+    void release(String key, IdempotencyRecord inFlight);
+}
@@ -0,0 +1,65 @@
+package com.dag.productservice.service.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Idempotency keys held in a bounded in-process cache, used when Redis is disabled
+ * Keys are only deduplicated per instance, which is enough for single-node and local deployments
+ */
+@Component
+@ConditionalOnProperty(name = "redis.enabled", havingValue = "false", matchIfMissing = true)
+@Slf4j
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(@Value("${orders.idempotency.local.max-size:100000}") long maxSize) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        log.info("Using in-memory idempotency store (max {} keys)", maxSize);
+    }
+
+    @Override
+    public IdempotencyRecord claim(String key, IdempotencyRecord inFlight, Duration ttl) {
+        Entry existing = entries.asMap().putIfAbsent(key, new Entry(inFlight, ttl));
+        return existing != null ? existing.record() : null;
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord completed, Duration ttl) {
+        entries.put(key, new Entry(completed, ttl));
+    }
+
+    @Override
+    public void release(String key, IdempotencyRecord inFlight) {
+        entries.asMap().computeIfPresent(key, (k, entry) -> entry.record().equals(inFlight) ? null : entry);
+    }
+
+    private record Entry(IdempotencyRecord record, Duration ttl) {
+    }
+}
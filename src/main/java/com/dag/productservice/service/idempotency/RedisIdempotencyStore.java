@@ -0,0 +1,81 @@
+package com.dag.productservice.service.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * Idempotency keys shared by all instances through Redis
+ * A claim is a SET NX PX, so concurrent duplicates on different nodes see each other's claim
+ * If Redis is unavailable the claim is granted, so order creation keeps working without deduplication
+ */
+@Component
+@ConditionalOnProperty(name = "redis.enabled", havingValue = "true")
+@Slf4j
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:";
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public RedisIdempotencyStore(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public IdempotencyRecord claim(String key, IdempotencyRecord inFlight, Duration ttl) {
+        try {
+            String value = write(inFlight);
+            // The existing entry can expire between SET NX and GET; claim again in that case
+            for (int attempt = 0; attempt < 3; attempt++) {
+                if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, value, ttl))) {
+                    return null;
+                }
+                String existing = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+                if (existing != null) {
+                    return objectMapper.readValue(existing, IdempotencyRecord.class);
+                }
+            }
+            return null;
+        } catch (Exception e) {
+            log.warn("Failed to claim idempotency key {}, continuing without deduplication: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord completed, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, write(completed), ttl);
+        } catch (Exception e) {
+            log.warn("Failed to store response for idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void release(String key, IdempotencyRecord inFlight) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(KEY_PREFIX + key), write(inFlight));
+        } catch (Exception e) {
+            log.warn("Failed to release idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private String write(IdempotencyRecord record) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(record);
+    }
+}
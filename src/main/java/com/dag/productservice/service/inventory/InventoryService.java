@@ -0,0 +1,254 @@
+package com.dag.productservice.service.inventory;
+
+import com.dag.productservice.dao.schema.LocalProductRepository;
+import com.dag.productservice.dao.schema.ProductStockRepository;
+import com.dag.productservice.dto.ProductStockDto;
+import com.dag.productservice.exception.InsufficientStockException;
+import com.dag.productservice.exception.ProductNotFoundException;
+import com.dag.productservice.models.OrderItem;
+import com.dag.productservice.models.ProductStock;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stock reservation for order creation
+ * Reservations decrement the StockCounterStore (in-process striped counters, or Redis when enabled)
+ * and never lock product or stock rows; the reserved column of product_stock is brought up to date
+ * by a periodic write-behind of each instance's committed deltas
+ */
+@Service
+@Slf4j
+public class InventoryService {
+
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final ProductStockRepository stockRepository;
+    private final LocalProductRepository productRepository;
+    private final StockCounterStore counters;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Committed reservation deltas per product not yet written to product_stock
+     */
+    private final ConcurrentHashMap<UUID, LongAdder> pendingReserved = new ConcurrentHashMap<>();
+
+    public InventoryService(ProductStockRepository stockRepository,
+                            LocalProductRepository productRepository,
+                            StockCounterStore counters,
+                            PlatformTransactionManager transactionManager) {
+        this.stockRepository = stockRepository;
+        this.productRepository = productRepository;
+        this.counters = counters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Reserve the units of an order's line items and mark the items whose stock was taken
+     * Within a transaction the units are given back if it rolls back, and only counted for
+     * write-behind once it commits
+     * @throws InsufficientStockException if any stock-tracked product is short; nothing is reserved then
+     */
+    public void reserve(Collection<OrderItem> items) {
+        Map<UUID, Integer> quantities = quantities(items);
+        if (quantities.isEmpty()) {
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            StockCounterStore.ReserveResult result = counters.tryReserve(quantities);
+            switch (result.status()) {
+                case RESERVED -> {
+                    Set<UUID> reservedIds = result.productIds();
+                    items.forEach(item -> item.setStockReserved(
+                            item.getProductId() != null && reservedIds.contains(item.getProductId())));
+                    Map<UUID, Integer> reserved = reservedQuantities(items);
+                    if (!reserved.isEmpty()) {
+                        afterCommit(() -> recordReserved(reserved, 1), () -> counters.release(reserved));
+                    }
+                    return;
+                }
+                case INSUFFICIENT -> throw new InsufficientStockException(result.productIds());
+                case NOT_LOADED -> {
+                    if (attempt == MAX_LOAD_ATTEMPTS) {
+                        throw new IllegalStateException("Stock counters could not be loaded for: " + result.productIds());
+                    }
+                    loadCounters(result.productIds());
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the units of a cancelled order's line items once the cancellation commits
+     * Only items marked at reservation are released; a product that became stock-tracked after
+     * the order was placed never had units taken for it
+     */
+    public void release(Collection<OrderItem> items) {
+        Map<UUID, Integer> quantities = reservedQuantities(items);
+        if (quantities.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            counters.release(quantities);
+            recordReserved(quantities, -1);
+        }, null);
+    }
+
+    /**
+     * Restock or correct a product's on-hand units; the first adjustment starts tracking the product
+     */
+    public ProductStockDto adjustStock(UUID productId, long delta) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (stockRepository.addOnHand(productId, delta, now) == 0) {
+                if (!productRepository.existsById(productId)) {
+                    throw new ProductNotFoundException("Product not found with id: " + productId);
+                }
+                if (delta < 0) {
+                    throw new IllegalArgumentException("Stock of an untracked product cannot be reduced");
+                }
+                stockRepository.save(ProductStock.builder()
+                        .productId(productId)
+                        .onHand(delta)
+                        .modifiedOn(now)
+                        .build());
+            }
+        });
+        counters.adjust(productId, delta);
+        log.info("Adjusted stock of product {} by {}", productId, delta);
+        return getStock(productId);
+    }
+
+    public ProductStockDto getStock(UUID productId) {
+        ProductStock stock = stockRepository.findById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("No stock tracked for product: " + productId));
+        long reserved = stock.getReserved() + pending(productId);
+        Long available = counters.available(productId);
+        return ProductStockDto.builder()
+                .productId(productId.toString())
+                .onHand(stock.getOnHand())
+                .reserved(reserved)
+                .available(available != null ? available : Math.max(0, stock.getOnHand() - reserved))
+                .build();
+    }
+
+    /**
+     * Write committed reservation deltas to product_stock, one relative UPDATE per changed product
+     * Deltas are taken out before the write and put back if it fails, so none are lost or counted twice
+     */
+    @Scheduled(fixedDelayString = "${inventory.write-behind.interval-ms:1000}")
+    public void flush() {
+        Map<UUID, Long> deltas = new HashMap<>();
+        pendingReserved.forEach((productId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(productId, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                deltas.forEach((productId, delta) -> stockRepository.addReserved(productId, delta, now));
+            });
+            log.debug("Wrote reserved stock of {} products", deltas.size());
+        } catch (RuntimeException e) {
+            deltas.forEach((productId, delta) -> adder(productId).add(delta));
+            log.warn("Failed to write reserved stock of {} products, will retry: {}", deltas.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Load counters from product_stock; available units exclude this instance's unwritten deltas
+     */
+    private void loadCounters(Set<UUID> productIds) {
+        Map<UUID, Long> available = new HashMap<>();
+        for (ProductStock stock : stockRepository.findAllById(productIds)) {
+            available.put(stock.getProductId(), stock.getAvailable() - pending(stock.getProductId()));
+        }
+        Set<UUID> untracked = new HashSet<>(productIds);
+        untracked.removeAll(available.keySet());
+        counters.load(available, untracked);
+    }
+
+    private void recordReserved(Map<UUID, Integer> quantities, int sign) {
+        quantities.forEach((productId, quantity) -> adder(productId).add((long) sign * quantity));
+    }
+
+    private LongAdder adder(UUID productId) {
+        return pendingReserved.computeIfAbsent(productId, id -> new LongAdder());
+    }
+
+    private long pending(UUID productId) {
+        LongAdder adder = pendingReserved.get(productId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * Run onCommit after the current transaction commits and onRollback if it does not;
+     * without a transaction, onCommit runs immediately
+     */
+    private static void afterCommit(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                } else if (onRollback != null) {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+
+    private static Map<UUID, Integer> quantities(Collection<OrderItem> items) {
+        return quantities(items, false);
+    }
+
+    /**
+     * Units per product of the items whose stock was reserved
+     */
+    private static Map<UUID, Integer> reservedQuantities(Collection<OrderItem> items) {
+        return quantities(items, true);
+    }
+
+    private static Map<UUID, Integer> quantities(Collection<OrderItem> items, boolean reservedOnly) {
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        if (items != null) {
+            for (OrderItem item : items) {
+                if ((!reservedOnly || item.isStockReserved()) && item.getProductId() != null
+                        && item.getQuantity() != null && item.getQuantity() > 0) {
+                    quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+                }
+            }
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,91 @@
+package com.dag.productservice.service.inventory;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-process striped counters, used when Redis is disabled
+ * Counters are per instance, so this store only prevents overselling on a single-node deployment
+ */
+@Component
+@ConditionalOnProperty(name = "redis.enabled", havingValue = "false", matchIfMissing = true)
+@Slf4j
+public class LocalStockCounterStore implements StockCounterStore {
+
+    private final ConcurrentHashMap<UUID, StripedStockCounter> counters = new ConcurrentHashMap<>();
+    private final Set<UUID> untracked = ConcurrentHashMap.newKeySet();
+    private final int stripes;
+
+    public LocalStockCounterStore(@Value("${inventory.counter.stripes:8}") int stripes) {
+        this.stripes = stripes;
+        log.info("Using in-process stock counters with {} stripes", stripes);
+    }
+
+    @Override
+    public ReserveResult tryReserve(Map<UUID, Integer> quantities) {
+        Set<UUID> missing = quantities.keySet().stream()
+                .filter(id -> !untracked.contains(id) && !counters.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!missing.isEmpty()) {
+            return ReserveResult.notLoaded(missing);
+        }
+
+        List<Map.Entry<UUID, Integer>> taken = new ArrayList<>();
+        for (Map.Entry<UUID, Integer> entry : quantities.entrySet()) {
+            StripedStockCounter counter = counters.get(entry.getKey());
+            if (counter == null) {
+                continue;
+            }
+            if (!counter.tryAcquire(entry.getValue())) {
+                taken.forEach(done -> counters.get(done.getKey()).release(done.getValue()));
+                return ReserveResult.insufficient(Set.of(entry.getKey()));
+            }
+            taken.add(entry);
+        }
+        return ReserveResult.reserved(taken.stream().map(Map.Entry::getKey).collect(Collectors.toSet()));
+    }
+
+    @Override
+    public void release(Map<UUID, Integer> quantities) {
+        quantities.forEach((productId, quantity) -> {
+            StripedStockCounter counter = counters.get(productId);
+            if (counter != null) {
+                counter.release(quantity);
+            }
+        });
+    }
+
+    @Override
+    public void load(Map<UUID, Long> available, Set<UUID> untrackedIds) {
+        available.forEach((productId, units) ->
+                counters.putIfAbsent(productId, new StripedStockCounter(Math.max(0, units), stripes)));
+        untracked.addAll(untrackedIds);
+    }
+
+    @Override
+    public void adjust(UUID productId, long delta) {
+        if (untracked.remove(productId)) {
+            return;
+        }
+        StripedStockCounter counter = counters.get(productId);
+        if (counter != null) {
+            counter.adjust(delta);
+        }
+    }
+
+    @Override
+    public Long available(UUID productId) {
+        StripedStockCounter counter = counters.get(productId);
+        return counter != null ? counter.available() : null;
+    }
+}
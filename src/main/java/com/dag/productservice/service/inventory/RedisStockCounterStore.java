@@ -0,0 +1,141 @@
+package com.dag.productservice.service.inventory;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Stock counters shared by all instances in one Redis hash (field per product)
+ * A reservation is one Lua script that checks every line and then decrements all of them,
+ * so concurrent orders for the same product serialize inside Redis instead of on a database row
+ * Reservations fail while Redis is unavailable rather than risk overselling
+ */
+@Component
+@ConditionalOnProperty(name = "redis.enabled", havingValue = "true")
+@Slf4j
+public class RedisStockCounterStore implements StockCounterStore {
+
+    static final String KEY = "inventory:available";
+    static final String UNTRACKED = "U";
+
+    /**
+     * ARGV holds (productId, quantity) pairs; returns OK followed by the tracked products that were
+     * decremented, or MISSING / SHORT followed by product IDs
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> RESERVE_SCRIPT = new DefaultRedisScript<>(
+            "local missing, short = {}, {} " +
+            "for i = 1, #ARGV, 2 do " +
+            "  local v = redis.call('hget', KEYS[1], ARGV[i]) " +
+            "  if not v then missing[#missing + 1] = ARGV[i] " +
+            "  elseif v ~= 'U' and tonumber(v) < tonumber(ARGV[i + 1]) then short[#short + 1] = ARGV[i] end " +
+            "end " +
+            "if #missing > 0 then return {'MISSING', unpack(missing)} end " +
+            "if #short > 0 then return {'SHORT', unpack(short)} end " +
+            "local reserved = {'OK'} " +
+            "for i = 1, #ARGV, 2 do " +
+            "  if redis.call('hget', KEYS[1], ARGV[i]) ~= 'U' then " +
+            "    redis.call('hincrby', KEYS[1], ARGV[i], -tonumber(ARGV[i + 1])) " +
+            "    reserved[#reserved + 1] = ARGV[i] end " +
+            "end " +
+            "return reserved",
+            List.class);
+
+    /**
+     * ARGV holds (productId, quantity) pairs; untracked products are left alone
+     */
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "for i = 1, #ARGV, 2 do " +
+            "  local v = redis.call('hget', KEYS[1], ARGV[i]) " +
+            "  if v and v ~= 'U' then redis.call('hincrby', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+            "end " +
+            "return 0",
+            Long.class);
+
+    /**
+     * ARGV holds (productId, delta) pairs; counters never go below zero, untracked markers are dropped
+     */
+    private static final DefaultRedisScript<Long> ADJUST_SCRIPT = new DefaultRedisScript<>(
+            "for i = 1, #ARGV, 2 do " +
+            "  local v = redis.call('hget', KEYS[1], ARGV[i]) " +
+            "  if v == 'U' then redis.call('hdel', KEYS[1], ARGV[i]) " +
+            "  elseif v then redis.call('hset', KEYS[1], ARGV[i], math.max(0, tonumber(v) + tonumber(ARGV[i + 1]))) end " +
+            "end " +
+            "return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisStockCounterStore(RedisConnectionFactory connectionFactory) {
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        log.info("Using Redis stock counters");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ReserveResult tryReserve(Map<UUID, Integer> quantities) {
+        List<String> result = redisTemplate.execute(RESERVE_SCRIPT, Collections.singletonList(KEY),
+                arguments(quantities.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().longValue()))));
+        if (result == null || result.isEmpty()) {
+            throw new IllegalStateException("Stock reservation script returned no result");
+        }
+        Set<UUID> productIds = result.subList(1, result.size()).stream()
+                .map(UUID::fromString)
+                .collect(Collectors.toSet());
+        return switch (result.get(0)) {
+            case "OK" -> ReserveResult.reserved(productIds);
+            case "MISSING" -> ReserveResult.notLoaded(productIds);
+            default -> ReserveResult.insufficient(productIds);
+        };
+    }
+
+    @Override
+    public void release(Map<UUID, Integer> quantities) {
+        redisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(KEY),
+                arguments(quantities.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().longValue()))));
+    }
+
+    @Override
+    public void load(Map<UUID, Long> available, Set<UUID> untracked) {
+        available.forEach((productId, units) ->
+                redisTemplate.opsForHash().putIfAbsent(KEY, productId.toString(), String.valueOf(Math.max(0, units))));
+        untracked.forEach(productId ->
+                redisTemplate.opsForHash().putIfAbsent(KEY, productId.toString(), UNTRACKED));
+    }
+
+    @Override
+    public void adjust(UUID productId, long delta) {
+        redisTemplate.execute(ADJUST_SCRIPT, Collections.singletonList(KEY), arguments(Map.of(productId, delta)));
+    }
+
+    @Override
+    public Long available(UUID productId) {
+        Object value = redisTemplate.opsForHash().get(KEY, productId.toString());
+        if (value == null || UNTRACKED.equals(value)) {
+            return null;
+        }
+        return Long.parseLong(value.toString());
+    }
+
+    private static Object[] arguments(Map<UUID, Long> values) {
+        List<String> arguments = new ArrayList<>(values.size() * 2);
+        values.forEach((productId, value) -> {
+            arguments.add(productId.toString());
+            arguments.add(String.valueOf(value));
+        });
+        return arguments.toArray();
+    }
+}
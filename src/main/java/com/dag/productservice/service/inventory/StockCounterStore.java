@@ -0,0 +1,62 @@
+package com.dag.productservice.service.inventory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Hot-path available-units counters, loaded lazily from product_stock
+ * Products without a stock row are remembered as untracked and never limit an order
+ */
+public interface StockCounterStore {
+
+    /**
+     * Reserve every quantity or none of them
+     * @param quantities Units per product
+     * @return RESERVED with the stock-tracked products whose counters were decremented
+     */
+    ReserveResult tryReserve(Map<UUID, Integer> quantities);
+
+    /**
+     * Give units back to products that have a counter
+     */
+    void release(Map<UUID, Integer> quantities);
+
+    /**
+     * Install counters that are not loaded yet; counters already present are kept
+     * @param available Available units per stock-tracked product
+     * @param untracked Products without a stock row
+     */
+    void load(Map<UUID, Long> available, Set<UUID> untracked);
+
+    /**
+     * Apply a stock correction to a loaded counter; an untracked product is forgotten,
+     * so its new stock row is loaded by the next reservation
+     */
+    void adjust(UUID productId, long delta);
+
+    /**
+     * @return Units available now, or null when the counter is not loaded or the product is untracked
+     */
+    Long available(UUID productId);
+
+    enum Status { RESERVED, NOT_LOADED, INSUFFICIENT }
+
+    /**
+     * @param productIds Products reserved (RESERVED), to load (NOT_LOADED) or that are short (INSUFFICIENT)
+     */
+    record ReserveResult(Status status, Set<UUID> productIds) {
+
+        static ReserveResult reserved(Set<UUID> productIds) {
+            return new ReserveResult(Status.RESERVED, productIds);
+        }
+
+        static ReserveResult notLoaded(Set<UUID> productIds) {
+            return new ReserveResult(Status.NOT_LOADED, productIds);
+        }
+
+        static ReserveResult insufficient(Set<UUID> productIds) {
+            return new ReserveResult(Status.INSUFFICIENT, productIds);
+        }
+    }
+}
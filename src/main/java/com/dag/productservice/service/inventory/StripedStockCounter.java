@@ -0,0 +1,140 @@
+package com.dag.productservice.service.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free available-units counter for one product, split into stripes
+ * Each thread decrements its home stripe with CAS, so concurrent buyers of the same product
+ * mostly touch different cache lines instead of retrying on one shared word. Only when the home
+ * stripe cannot cover a request does the caller take the lock and gather units from all stripes
+ */
+public class StripedStockCounter {
+
+    /**
+     * Stripes are eight longs (one 64-byte cache line) apart to avoid false sharing
+     */
+    private static final int PADDING = 8;
+
+    private final int stripes;
+    private final AtomicLongArray cells;
+
+    public StripedStockCounter(long available, int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes must be at least 1");
+        }
+        this.stripes = stripes;
+        this.cells = new AtomicLongArray(stripes * PADDING);
+        long share = available / stripes;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            cells.set(stripe * PADDING, share);
+        }
+        cells.addAndGet(0, available - share * stripes);
+    }
+
+    /**
+     * Take the quantity if enough units are available; never takes a partial quantity
+     */
+    public boolean tryAcquire(long quantity) {
+        if (quantity <= 0) {
+            return true;
+        }
+        if (tryTake(homeStripe(), quantity)) {
+            return true;
+        }
+        return acquireAcrossStripes(quantity);
+    }
+
+    /**
+     * Return units, e.g. of a cancelled order or a rolled back reservation
+     */
+    public void release(long quantity) {
+        if (quantity > 0) {
+            cells.addAndGet(homeStripe() * PADDING, quantity);
+        }
+    }
+
+    /**
+     * Apply a stock correction; a negative delta removes at most the units still available
+     */
+    public synchronized void adjust(long delta) {
+        if (delta >= 0) {
+            release(delta);
+            return;
+        }
+        long remaining = -delta;
+        for (int stripe = 0; stripe < stripes && remaining > 0; stripe++) {
+            remaining -= takeUpTo(stripe, remaining);
+        }
+    }
+
+    /**
+     * Sum of all stripes; exact only when no reservation is running concurrently
+     */
+    public long available() {
+        long sum = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            sum += cells.get(stripe * PADDING);
+        }
+        return sum;
+    }
+
+    /**
+     * Slow path, serialized so that only one caller at a time holds units gathered from several
+     * stripes; fast-path callers that fail also end up here, so they never see those units as missing
+     */
+    private synchronized boolean acquireAcrossStripes(long quantity) {
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            if (tryTake(stripe, quantity)) {
+                return true;
+            }
+        }
+        long[] taken = new long[stripes];
+        long total = 0;
+        for (int stripe = 0; stripe < stripes && total < quantity; stripe++) {
+            taken[stripe] = takeUpTo(stripe, quantity - total);
+            total += taken[stripe];
+        }
+        if (total == quantity) {
+            return true;
+        }
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            if (taken[stripe] > 0) {
+                cells.addAndGet(stripe * PADDING, taken[stripe]);
+            }
+        }
+        return false;
+    }
+
+    private boolean tryTake(int stripe, long quantity) {
+        int index = stripe * PADDING;
+        while (true) {
+            long current = cells.get(index);
+            if (current < quantity) {
+                return false;
+            }
+            if (cells.compareAndSet(index, current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    private long takeUpTo(int stripe, long quantity) {
+        int index = stripe * PADDING;
+        while (true) {
+            long current = cells.get(index);
+            long take = Math.min(current, quantity);
+            if (take <= 0) {
+                return 0;
+            }
+            if (cells.compareAndSet(index, current, current - take)) {
+                return take;
+            }
+        }
+    }
+
+    private int homeStripe() {
+        // Spread sequential thread IDs over the stripes (Fibonacci hashing)
+        int hash = (int) (Thread.currentThread().getId() * 0x9E3779B97F4A7C15L >>> 32);
+        return Math.floorMod(hash, stripes);
+    }
+}
@@ -0,0 +1,277 @@
+package com.dag.productservice.service.order;
+
+import com.dag.productservice.dao.schema.CustomerOrderStatsRepository;
+import com.dag.productservice.dto.CustomerOrderStatsDto;
+import com.dag.productservice.models.CustomerOrderStats;
+import com.dag.productservice.models.Order;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Maintains the customer_order_stats read model
+ * Order writes apply a relative delta to the customer's row in their own transaction, so account
+ * pages read counts and lifetime spend with a primary key lookup instead of aggregating orders
+ * The rebuild job recomputes every row from the orders table in parallel chunks of customers
+ * Archived orders are included in the totals of customers that still have hot orders; rows of
+ * customers with only archived orders are left as maintained
+ */
+@Service
+@Slf4j
+public class CustomerOrderStatsService {
+
+    private final CustomerOrderStatsRepository statsRepository;
+    private final TransactionTemplate newTransaction;
+    private final TransactionTemplate rebuildTransaction;
+    private final int rebuildChunkSize;
+    private final int rebuildThreads;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService scheduledRebuilds;
+
+    public CustomerOrderStatsService(CustomerOrderStatsRepository statsRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${orders.customer-stats.rebuild.chunk-size:500}") int rebuildChunkSize,
+                                     @Value("${orders.customer-stats.rebuild.threads:4}") int rebuildThreads) {
+        this.statsRepository = statsRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildChunkSize = rebuildChunkSize;
+        this.rebuildThreads = rebuildThreads;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("customer-stats-scheduled-");
+        threadFactory.setDaemon(true);
+        this.scheduledRebuilds = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /**
+     * Record a new order (from == null) or a status change in the caller's transaction
+     * A customer's first order creates the empty row in a separate short transaction, so two
+     * concurrent first orders cannot fail each other on the primary key
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransition(Order order, Order.OrderStatus from, Order.OrderStatus to) {
+        String customerId = order.getCustomerId();
+        if (customerId == null || from == to) {
+            return;
+        }
+        applyDelta(customerId, CustomerOrderStats.Delta.of(order, from, to));
+    }
+
+    /**
+     * Record many transitions in the caller's transaction with one UPDATE per customer
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransitions(Collection<Transition> transitions) {
+        Map<String, CustomerOrderStats.Delta> deltas = new LinkedHashMap<>();
+        for (Transition transition : transitions) {
+            String customerId = transition.order().getCustomerId();
+            if (customerId != null && transition.from() != transition.to()) {
+                deltas.merge(customerId, CustomerOrderStats.Delta.of(transition.order(), transition.from(),
+                        transition.to()), CustomerOrderStats.Delta::plus);
+            }
+        }
+        deltas.forEach(this::applyDelta);
+    }
+
+    @Transactional(readOnly = true)
+    public CustomerOrderStatsDto getStats(String customerId) {
+        return statsRepository.findById(customerId)
+                .map(CustomerOrderStatsDto::new)
+                .orElseGet(() -> new CustomerOrderStatsDto(CustomerOrderStats.builder().customerId(customerId).build()));
+    }
+
+    /**
+     * Recompute every customer's row from the orders table and the order archive
+     * Customer IDs are read in chunks and each chunk is recomputed in its own transaction on a worker;
+     * missing rows are created first, as a first order would create them, and every row of the chunk is
+     * then locked, so order writes racing the rebuild either land before the aggregate is read or are
+     * applied on top of the rebuilt row afterwards
+     * @return Number of customers rebuilt, or -1 when a rebuild is already running on this instance
+     */
+    public long rebuildAll() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.info("Customer order stats rebuild already running");
+            return -1;
+        }
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(rebuildThreads,
+                new CustomizableThreadFactory("customer-stats-rebuild-"));
+        // At most two chunks per worker are read ahead, so memory stays bounded on large tables
+        Semaphore inFlight = new Semaphore(rebuildThreads * 2);
+        List<Future<Integer>> chunks = new ArrayList<>();
+        try {
+            String after = "";
+            List<String> customerIds;
+            do {
+                customerIds = statsRepository.findCustomerIdsAfter(after, PageRequest.of(0, rebuildChunkSize));
+                if (customerIds.isEmpty()) {
+                    break;
+                }
+                after = customerIds.get(customerIds.size() - 1);
+                List<String> chunk = customerIds;
+                inFlight.acquire();
+                chunks.add(executor.submit(() -> {
+                    try {
+                        createMissingRows(chunk);
+                        return rebuildTransaction.execute(status -> rebuildChunk(chunk));
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            } while (customerIds.size() == rebuildChunkSize);
+
+            long customers = 0;
+            for (Future<Integer> chunk : chunks) {
+                customers += chunk.get();
+            }
+            log.info("Rebuilt order stats for {} customers in {} ms with {} threads", customers,
+                    (System.nanoTime() - start) / 1_000_000, rebuildThreads);
+            return customers;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Customer order stats rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Customer order stats rebuild failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Runs the rebuild on its own thread; waiting on the chunk futures would otherwise hold the shared
+     * scheduler thread and stall the outbox relay and the inventory write-behind flush
+     */
+    @Scheduled(cron = "${orders.customer-stats.rebuild.cron:-}")
+    public void scheduledRebuild() {
+        if (rebuilding.get()) {
+            log.info("Customer order stats rebuild already running");
+            return;
+        }
+        scheduledRebuilds.execute(() -> {
+            try {
+                rebuildAll();
+            } catch (Exception e) {
+                log.error("Scheduled customer order stats rebuild failed", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduledRebuilds.shutdownNow();
+    }
+
+    /**
+     * Create the rows the rebuild will overwrite outside its transaction, tolerating a concurrent
+     * first order creating the same row; inserting them in the chunk transaction would fail the
+     * whole chunk on the duplicate key
+     */
+    private void createMissingRows(List<String> customerIds) {
+        Set<String> existing = new HashSet<>(statsRepository.findCustomerIdsIn(customerIds));
+        for (String customerId : customerIds) {
+            if (!existing.contains(customerId)) {
+                createEmptyRow(customerId);
+            }
+        }
+    }
+
+    private int rebuildChunk(List<String> customerIds) {
+        Map<String, CustomerOrderStats> rows = new HashMap<>();
+        for (CustomerOrderStats existing : statsRepository.lockAllByCustomerIdIn(customerIds)) {
+            rows.put(existing.getCustomerId(), existing);
+        }
+
+        Map<String, CustomerOrderStats> rebuilt = new HashMap<>();
+        List<Object[]> aggregates = new ArrayList<>(statsRepository.aggregateByCustomerIdIn(customerIds));
+        aggregates.addAll(statsRepository.aggregateArchivedByCustomerIdIn(customerIds));
+        for (Object[] row : aggregates) {
+            String customerId = (String) row[0];
+            CustomerOrderStats stats = rebuilt.computeIfAbsent(customerId,
+                    id -> CustomerOrderStats.builder().customerId(id).build());
+            stats.add((Order.OrderStatus) row[1], ((Number) row[2]).longValue(), (BigDecimal) row[3],
+                    (LocalDateTime) row[4]);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (CustomerOrderStats stats : rebuilt.values()) {
+            stats.setModifiedOn(now);
+            // Every customer of the chunk has a row, created by createMissingRows if it was missing
+            CustomerOrderStats existing = rows.get(stats.getCustomerId());
+            if (existing == null) {
+                throw new IllegalStateException("Order stats row missing for customer " + stats.getCustomerId());
+            }
+            copy(stats, existing);
+        }
+        return rebuilt.size();
+    }
+
+    private void applyDelta(String customerId, CustomerOrderStats.Delta delta) {
+        if (statsRepository.applyDelta(customerId, delta, LocalDateTime.now()) == 0) {
+            createEmptyRow(customerId);
+            statsRepository.applyDelta(customerId, delta, LocalDateTime.now());
+        }
+    }
+
+    private void createEmptyRow(String customerId) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (!statsRepository.existsById(customerId)) {
+                    statsRepository.saveAndFlush(CustomerOrderStats.builder()
+                            .customerId(customerId)
+                            .modifiedOn(LocalDateTime.now())
+                            .build());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Order stats row for customer {} was created concurrently", customerId);
+        }
+    }
+
+    private static void copy(CustomerOrderStats source, CustomerOrderStats target) {
+        target.setOrderCount(source.getOrderCount());
+        target.setLifetimeSpend(source.getLifetimeSpend());
+        target.setLastOrderDate(source.getLastOrderDate());
+        target.setPendingCount(source.getPendingCount());
+        target.setConfirmedCount(source.getConfirmedCount());
+        target.setProcessingCount(source.getProcessingCount());
+        target.setShippedCount(source.getShippedCount());
+        target.setDeliveredCount(source.getDeliveredCount());
+        target.setCancelledCount(source.getCancelledCount());
+        target.setRefundedCount(source.getRefundedCount());
+        target.setModifiedOn(source.getModifiedOn());
+    }
+
+    /**
+     * @param from Previous status, or null for a new order
+     */
+    public record Transition(Order order, Order.OrderStatus from, Order.OrderStatus to) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.dag.productservice.service.order;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel (Varghese and Lauck) for large numbers of coarse-grained timeouts
+ * Scheduling and cancelling are O(1) and safe from any thread: new timeouts go through a lock-free
+ * queue and cancellation only sets a flag. advance() must be called from a single thread; each tick
+ * visits one bucket, and a timeout more than one revolution away stays in its bucket until the
+ * revolution in which its deadline falls
+ * @param <T> Item carried by a timeout
+ */
+public class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<ArrayDeque<Timeout<T>>> buckets;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final long startMillis;
+
+    /**
+     * Next tick to process; only read and written by the advancing thread
+     */
+    private long currentTick;
+
+    /**
+     * @param wheelSize Number of buckets, rounded up to a power of two
+     */
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1 > 0 ? (wheelSize - 1) << 1 : 1);
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.startMillis = startMillis;
+    }
+
+    /**
+     * Schedule an item; a deadline in the past expires on the next advance
+     */
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(0, Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis));
+        Timeout<T> timeout = new Timeout<>(item, deadlineTick);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Process every tick up to the given time
+     * @return Timeouts whose deadline has passed, in deadline-tick order; cancelled ones are dropped
+     */
+    public List<Timeout<T>> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        transferPending();
+        List<Timeout<T>> expired = new ArrayList<>();
+        // Visiting more than one revolution of buckets would only find the same timeouts again
+        long firstTick = Math.max(currentTick, targetTick - mask);
+        for (long tick = firstTick; tick <= targetTick; tick++) {
+            Iterator<Timeout<T>> bucket = buckets.get((int) (tick & mask)).iterator();
+            while (bucket.hasNext()) {
+                Timeout<T> timeout = bucket.next();
+                if (timeout.isCancelled()) {
+                    bucket.remove();
+                } else if (timeout.deadlineTick <= targetTick) {
+                    bucket.remove();
+                    expired.add(timeout);
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick + 1);
+        expired.sort((a, b) -> Long.compare(a.deadlineTick, b.deadlineTick));
+        return expired;
+    }
+
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (!timeout.isCancelled()) {
+                long tick = Math.max(timeout.deadlineTick, currentTick);
+                buckets.get((int) (tick & mask)).add(timeout);
+            }
+        }
+    }
+
+    public static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
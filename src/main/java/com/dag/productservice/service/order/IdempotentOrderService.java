@@ -0,0 +1,143 @@
+package com.dag.productservice.service.order;
+
+import com.dag.productservice.dto.OrderRequestDto;
+import com.dag.productservice.dto.OrderResponseDto;
+import com.dag.productservice.exception.IdempotencyKeyConflictException;
+import com.dag.productservice.service.idempotency.IdempotencyRecord;
+import com.dag.productservice.service.idempotency.IdempotencyStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Order creation keyed by the client's Idempotency-Key header
+ * The first request for a key creates the order and stores its response; retries with the same key
+ * and body get that response back instead of a new order. A duplicate arriving while the first
+ * request is still running waits for it, up to orders.idempotency.wait-timeout
+ */
+@Service
+@Slf4j
+public class IdempotentOrderService {
+
+    static final int MAX_KEY_LENGTH = 128;
+
+    private final OrderService orderService;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration inFlightTtl;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+
+    public IdempotentOrderService(OrderService orderService,
+                                  IdempotencyStore idempotencyStore,
+                                  ObjectMapper objectMapper,
+                                  @Value("${orders.idempotency.ttl:24h}") Duration ttl,
+                                  @Value("${orders.idempotency.in-flight-ttl:30s}") Duration inFlightTtl,
+                                  @Value("${orders.idempotency.wait-timeout:5s}") Duration waitTimeout,
+                                  @Value("${orders.idempotency.poll-interval:50ms}") Duration pollInterval) {
+        this.orderService = orderService;
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.inFlightTtl = inFlightTtl;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Create the order once per customer and key
+     * @param idempotencyKey Client-chosen key, unique per logical order attempt
+     * @param request Order request; must be identical on every retry with the same key
+     * @return Response of the request that created the order, and whether it is a replay
+     */
+    public Result createOrder(String idempotencyKey, OrderRequestDto request) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String key = "orders:" + request.getCustomerId() + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            IdempotencyRecord claim = IdempotencyRecord.inFlight(fingerprint);
+            IdempotencyRecord existing = idempotencyStore.claim(key, claim, inFlightTtl);
+            if (existing == null) {
+                return new Result(execute(key, claim, request), false);
+            }
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyConflictException(
+                        "Idempotency-Key was already used with a different request", false);
+            }
+            if (existing.isCompleted()) {
+                log.info("Replaying order response for idempotency key: {}", key);
+                return new Result(read(existing.response()), true);
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new IdempotencyKeyConflictException(
+                        "A request with this Idempotency-Key is still being processed", true);
+            }
+            pause();
+        }
+    }
+
+    /**
+     * Run the create under the claim; a failed create releases the key so the client can retry it
+     */
+    private OrderResponseDto execute(String key, IdempotencyRecord claim, OrderRequestDto request) {
+        OrderResponseDto response;
+        try {
+            response = orderService.createOrder(request);
+        } catch (RuntimeException e) {
+            idempotencyStore.release(key, claim);
+            throw e;
+        }
+        try {
+            idempotencyStore.complete(key, claim.completed(objectMapper.writeValueAsString(response)), ttl);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize order response for idempotency key: {}", key, e);
+        }
+        return response;
+    }
+
+    private OrderResponseDto read(String response) {
+        try {
+            return objectMapper.readValue(response, OrderResponseDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored order response is unreadable", e);
+        }
+    }
+
+    private String fingerprint(OrderRequestDto request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint order request", e);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyConflictException(
+                    "A request with this Idempotency-Key is still being processed", true);
+        }
+    }
+
+    /**
+     * @param response Order as returned by the request that created it
+     * @param replayed True when the response was stored by an earlier request with the same key
+     */
+    public record Result(OrderResponseDto response, boolean replayed) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.dag.productservice.service.order;
+
+import com.dag.productservice.dao.schema.ArchivedOrderRepository;
+import com.dag.productservice.dto.OrderResponseDto;
+import com.dag.productservice.models.ArchivedOrder;
+import com.dag.productservice.models.Order;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cold storage of orders that can no longer change, read when an order is not found in the hot tables
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchive {
+
+    /**
+     * Statuses an order may be archived in; refunds of delivered orders must happen within orders.archive.min-age
+     */
+    public static final Set<Order.OrderStatus> ARCHIVABLE_STATUSES = EnumSet.of(
+            Order.OrderStatus.DELIVERED, Order.OrderStatus.CANCELLED, Order.OrderStatus.REFUNDED);
+
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Insert orders, as served by the order API, in the caller's transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void store(Collection<OrderResponseDto> orders) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ArchivedOrder> rows = orders.stream()
+                .map(order -> ArchivedOrder.builder()
+                        .id(UUID.fromString(order.getId()))
+                        .orderNumber(order.getOrderNumber())
+                        .customerId(order.getCustomerId())
+                        .status(order.getStatus())
+                        .totalAmount(order.getTotalAmount())
+                        .orderDate(order.getOrderDate())
+                        .archivedOn(now)
+                        .document(write(order))
+                        .build())
+                .toList();
+        archivedOrderRepository.saveAll(rows);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OrderResponseDto> findById(UUID orderId) {
+        return archivedOrderRepository.findById(orderId).map(this::read);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OrderResponseDto> findByOrderNumber(String orderNumber) {
+        return archivedOrderRepository.findByOrderNumber(orderNumber).map(this::read);
+    }
+
+    private String write(OrderResponseDto order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order " + order.getId() + " for the archive", e);
+        }
+    }
+
+    private OrderResponseDto read(ArchivedOrder archived) {
+        try {
+            return objectMapper.readValue(archived.getDocument(), OrderResponseDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read archived order " + archived.getId(), e);
+        }
+    }
+}
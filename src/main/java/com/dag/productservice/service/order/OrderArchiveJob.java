@@ -0,0 +1,104 @@
+package com.dag.productservice.service.order;
+
+import com.dag.productservice.models.Order;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves delivered, cancelled and refunded orders older than orders.archive.min-age to the archive
+ * Each chunk is oldest-first and commits on its own, so a run can be stopped at any point and the
+ * next run resumes from the oldest order still in the hot tables. Runs on other instances lock
+ * the same rows and skip what was archived meanwhile
+ * Scheduled runs execute on the job's own thread, so the shared scheduler thread keeps relaying
+ * outbox events and flushing reserved stock while a long archival is in progress
+ */
+@Component
+@Slf4j
+public class OrderArchiveJob {
+
+    private final OrderService orderService;
+    private final Duration minAge;
+    private final int chunkSize;
+    private final Duration pause;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService executor;
+
+    public OrderArchiveJob(OrderService orderService,
+                           @Value("${orders.archive.min-age:365d}") Duration minAge,
+                           @Value("${orders.archive.chunk-size:500}") int chunkSize,
+                           @Value("${orders.archive.pause:100ms}") Duration pause) {
+        this.orderService = orderService;
+        this.minAge = minAge;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("order-archive-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @Scheduled(cron = "${orders.archive.cron:-}")
+    public void scheduledRun() {
+        if (running.get()) {
+            log.info("Order archival already running");
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                run();
+            } catch (Exception e) {
+                log.error("Scheduled order archival failed", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Archive every eligible order, one chunk transaction at a time
+     * @return Number of orders archived, or -1 if a run is already in progress on this instance
+     */
+    public long run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Order archival already running");
+            return -1;
+        }
+        long start = System.nanoTime();
+        LocalDateTime placedBefore = LocalDateTime.now().minus(minAge);
+        long archived = 0;
+        try {
+            for (Order.OrderStatus status : OrderArchive.ARCHIVABLE_STATUSES) {
+                int moved;
+                do {
+                    moved = orderService.archiveOrders(status, placedBefore, chunkSize);
+                    archived += moved;
+                    // Short pause between chunks so replicas and concurrent order traffic keep up
+                    if (moved == chunkSize && !pause.isZero()) {
+                        Thread.sleep(pause.toMillis());
+                    }
+                } while (moved == chunkSize);
+            }
+            log.info("Archived {} orders placed before {} in {} ms", archived, placedBefore,
+                    (System.nanoTime() - start) / 1_000_000);
+            return archived;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Order archival interrupted after {} orders; the next run resumes from there", archived);
+            return archived;
+        } finally {
+            running.set(false);
+        }
+    }
+}
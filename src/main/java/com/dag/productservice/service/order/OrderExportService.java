@@ -0,0 +1,63 @@
+package com.dag.productservice.service.order;
+
+import com.dag.productservice.dao.schema.OrderRepository;
+import com.dag.productservice.dto.OrderResponseDto;
+import com.dag.productservice.models.Order;
+import com.dag.productservice.service.export.NdjsonExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.OutputStream;
+
+/**
+ * Streams every order in one status as NDJSON for ops tooling
+ * Rows are read in (order_date, id) order with flat heap use; see NdjsonExportWriter
+ * Lines carry the order header only; items and status history would cost two queries per order
+ */
+@Service
+public class OrderExportService {
+
+    private final OrderRepository orderRepository;
+    private final NdjsonExportWriter<OrderResponseDto> exportWriter;
+
+    public OrderExportService(OrderRepository orderRepository,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${orders.export.clear-interval:1000}") int clearInterval) {
+        this.orderRepository = orderRepository;
+        this.exportWriter = new NdjsonExportWriter<>(OrderResponseDto.class, objectMapper, entityManager,
+                transactionManager, clearInterval);
+    }
+
+    /**
+     * Write every order in the given status to the stream as one JSON document per line
+     * @param out Response stream; flushed but not closed
+     * @return Number of rows written
+     */
+    public long exportNdjson(Order.OrderStatus status, OutputStream out) {
+        return exportWriter.write(() -> orderRepository.streamByStatus(status), OrderExportService::toHeaderDto,
+                out, status + " orders");
+    }
+
+    private static OrderResponseDto toHeaderDto(Order order) {
+        return OrderResponseDto.builder()
+                .id(order.getId().toString())
+                .orderNumber(order.getOrderNumber())
+                .customerId(order.getCustomerId())
+                .status(order.getStatus())
+                .totalAmount(order.getTotalAmount())
+                .currency(order.getCurrency())
+                .shippingAddress(order.getShippingAddress())
+                .billingAddress(order.getBillingAddress())
+                .orderDate(order.getOrderDate())
+                .shippedDate(order.getShippedDate())
+                .deliveredDate(order.getDeliveredDate())
+                .createdOn(order.getCreatedOn())
+                .modifiedOn(order.getModifiedOn())
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.dag.productservice.service.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style generator for ORD-... order numbers
+ * Each number packs 41 bits of milliseconds since 2024-01-01, a 10-bit node ID and a 12-bit
+ * per-millisecond sequence, so instances with distinct node IDs never collide and no database
+ * round trip is needed. State is a single (timestamp, sequence) word advanced with CAS
+ * If the clock steps backwards, or more than 4096 numbers are issued within one millisecond,
+ * the generator keeps counting on its own logical clock instead of blocking or repeating
+ */
+@Component
+@Slf4j
+public class OrderNumberGenerator {
+
+    static final String PREFIX = "ORD-";
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    static final int NODE_ID_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_ID_BITS) - 1;
+
+    private final long nodeId;
+    private final AtomicLong lastTimestampAndSequence = new AtomicLong();
+    private final AtomicLong clockRegressions = new AtomicLong();
+
+    @Autowired
+    public OrderNumberGenerator(@Value("${orders.number.node-id:}") String nodeId) {
+        this(resolveNodeId(nodeId));
+    }
+
+    OrderNumberGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("orders.number.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        log.info("Order number generator using node ID: {}", nodeId);
+    }
+
+    /**
+     * Next order number, e.g. ORD-1234567890123456789
+     */
+    public String next() {
+        return PREFIX + nextId();
+    }
+
+    /**
+     * Next raw 63-bit ID; strictly increasing on this instance
+     */
+    public long nextId() {
+        long timestampAndSequence = nextTimestampAndSequence(System.currentTimeMillis() - EPOCH_MILLIS);
+        long timestamp = timestampAndSequence >>> SEQUENCE_BITS;
+        long sequence = timestampAndSequence & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_ID_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * A newer millisecond restarts the sequence; otherwise the sequence is incremented,
+     * carrying into the timestamp when it overflows
+     */
+    long nextTimestampAndSequence(long elapsedMillis) {
+        long now = elapsedMillis << SEQUENCE_BITS;
+        while (true) {
+            long last = lastTimestampAndSequence.get();
+            long next = now > last ? now : last + 1;
+            if (lastTimestampAndSequence.compareAndSet(last, next)) {
+                if ((now >>> SEQUENCE_BITS) < (last >>> SEQUENCE_BITS)) {
+                    clockRegressions.incrementAndGet();
+                }
+                return next;
+            }
+        }
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Number of IDs issued while the wall clock was behind the last issued timestamp
+     */
+    public long getClockRegressionCount() {
+        return clockRegressions.get();
+    }
+
+    /**
+     * Node IDs must be unique per running instance; set orders.number.node-id explicitly
+     * (e.g. from the pod ordinal). Without it, a hash of the host name is used, which is
+     * only safe while instances run on distinct hosts whose names do not collide
+     */
+    private static long resolveNodeId(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return Long.parseLong(configured.trim());
+        }
+        String hostName;
+        try {
+            hostName = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            hostName = String.valueOf(ProcessHandle.current().pid());
+        }
+        long derived = Math.floorMod(hostName.hashCode(), MAX_NODE_ID + 1);
+        log.warn("orders.number.node-id is not set, derived node ID {} from host name: {}", derived, hostName);
+        return derived;
+    }
+}
@@ -1,12 +1,18 @@
 package com.dag.productservice.service.order;
 
+import com.dag.productservice.dto.BulkOrderStatusUpdateRequestDto;
+import com.dag.productservice.dto.BulkOrderStatusUpdateResultDto;
+import com.dag.productservice.dto.OrderPageDto;
 import com.dag.productservice.dto.OrderRequestDto;
 import com.dag.productservice.dto.OrderResponseDto;
 import com.dag.productservice.dto.OrderStatusUpdateRequestDto;
+import com.dag.productservice.dto.OrderSummaryDto;
 import com.dag.productservice.models.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,13 +28,45 @@ public interface OrderService {
 
     List<OrderResponseDto> getCustomerOrders(String customerId);
 
+    /**
+     * Newest-first order list rows for a customer; reads only the orders table
+     */
+    Page<OrderSummaryDto> getCustomerOrderSummaries(String customerId, Pageable pageable);
+
     OrderResponseDto updateOrderStatus(UUID orderId, OrderStatusUpdateRequestDto request);
 
     List<OrderResponseDto> getOrdersByStatus(Order.OrderStatus status);
 
     List<OrderResponseDto> getCustomerOrdersByStatus(String customerId, Order.OrderStatus status);
 
+    /**
+     * Keyset-paginated orders in one status, newest first
+     * @param cursor nextCursor of the previous page, or null for the first page
+     */
+    OrderPageDto getOrdersByStatusPage(Order.OrderStatus status, String cursor, int limit);
+
+    OrderPageDto getCustomerOrdersByStatusPage(String customerId, Order.OrderStatus status, String cursor, int limit);
+
     void cancelOrder(UUID orderId, String reason);
 
+    /**
+     * Cancel the given orders that are still PENDING and were placed before the cutoff, in one transaction
+     * @return Number of orders cancelled
+     */
+    int expirePendingOrders(Collection<UUID> orderIds, LocalDateTime placedBefore);
+
+    /**
+     * Apply many status transitions with one set-based UPDATE per target status and chunk;
+     * disallowed transitions and unknown orders are reported per order instead of failing the request
+     */
+    BulkOrderStatusUpdateResultDto bulkUpdateOrderStatus(BulkOrderStatusUpdateRequestDto request);
+
+    /**
+     * Move up to limit of the oldest orders in an archivable status placed before the cutoff to the
+     * archive, in one transaction
+     * @return Number of orders archived; fewer than limit once no older orders of that status are left
+     */
+    int archiveOrders(Order.OrderStatus status, LocalDateTime placedBefore, int limit);
+
     List<OrderResponseDto.OrderStatusHistoryDto> getOrderStatusHistory(UUID orderId);
 }
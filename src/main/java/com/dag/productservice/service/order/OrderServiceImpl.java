@@ -4,23 +4,49 @@ import com.dag.productservice.dao.schema.OrderRepository;
 import com.dag.productservice.dao.schema.OrderItemRepository;
 import com.dag.productservice.dao.schema.OrderStatusHistoryRepository;
 import com.dag.productservice.dao.schema.LocalProductRepository;
+import com.dag.productservice.dto.BulkOrderStatusUpdateRequestDto;
+import com.dag.productservice.dto.BulkOrderStatusUpdateResultDto;
+import com.dag.productservice.dto.OrderPageCursor;
+import com.dag.productservice.dto.OrderPageDto;
 import com.dag.productservice.dto.OrderRequestDto;
 import com.dag.productservice.dto.OrderResponseDto;
 import com.dag.productservice.dto.OrderStatusUpdateRequestDto;
+import com.dag.productservice.dto.OrderSummaryDto;
 import com.dag.productservice.exception.OrderNotFoundException;
+import com.dag.productservice.exception.OrderUpdateConflictException;
 import com.dag.productservice.exception.ProductNotFoundException;
 import com.dag.productservice.models.*;
+import com.dag.productservice.service.inventory.InventoryService;
+import com.dag.productservice.service.outbox.OutboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,10 +55,28 @@ import java.util.stream.Collectors;
 @Transactional
 public class OrderServiceImpl implements OrderService {
 
+    /**
+     * Orders locked and updated per transaction by bulkUpdateOrderStatus
+     */
+    static final int BULK_CHUNK_SIZE = 500;
+
+    /**
+     * Attempts of a single-order status change before the conflict is reported to the caller
+     */
+    static final int STATUS_UPDATE_MAX_ATTEMPTS = 4;
+    static final long STATUS_UPDATE_BACKOFF_MILLIS = 20;
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderStatusHistoryRepository statusHistoryRepository;
     private final LocalProductRepository productRepository;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final OutboxService outboxService;
+    private final CustomerOrderStatsService customerOrderStatsService;
+    private final InventoryService inventoryService;
+    private final PendingOrderExpiry pendingOrderExpiry;
+    private final PlatformTransactionManager transactionManager;
+    private final OrderArchive orderArchive;
 
     @Override
     public OrderResponseDto createOrder(OrderRequestDto request) {
@@ -42,9 +86,12 @@ public class OrderServiceImpl implements OrderService {
         List<OrderItem> orderItems = createOrderItems(request);
         BigDecimal totalAmount = calculateTotalAmount(orderItems);
 
+        // Reserve stock; released again if the order is not committed
+        inventoryService.reserve(orderItems);
+
         // Create order
         Order order = new Order();
-        order.setOrderNumber(generateOrderNumber());
+        order.setOrderNumber(orderNumberGenerator.next());
         order.setCustomerId(request.getCustomerId());
         order.setStatus(Order.OrderStatus.PENDING);
         order.setTotalAmount(totalAmount);
@@ -65,6 +112,7 @@ public class OrderServiceImpl implements OrderService {
 
         // Add initial status history
         addOrderStatusHistory(savedOrder, null, Order.OrderStatus.PENDING, "Order created");
+        pendingOrderExpiry.schedule(savedOrder.getId(), savedOrder.getOrderDate());
 
         log.info("Order created successfully with ID: {} and order number: {}",
                 savedOrder.getId(), savedOrder.getOrderNumber());
@@ -75,23 +123,26 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional(readOnly = true)
     public OrderResponseDto getOrderById(UUID orderId) {
-        Order order = orderRepository.findById(orderId)
+        return orderRepository.findDetailById(orderId)
+                .map(this::mapToResponseDto)
+                .or(() -> orderArchive.findById(orderId))
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
-        return mapToResponseDto(order);
     }
 
     @Override
     @Transactional(readOnly = true)
     public OrderResponseDto getOrderByOrderNumber(String orderNumber) {
-        Order order = orderRepository.findByOrderNumber(orderNumber)
+        return orderRepository.findDetailByOrderNumber(orderNumber)
+                .map(this::mapToResponseDto)
+                .or(() -> orderArchive.findByOrderNumber(orderNumber))
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with order number: " + orderNumber));
-        return mapToResponseDto(order);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<OrderResponseDto> getCustomerOrders(String customerId, Pageable pageable) {
         Page<Order> orders = orderRepository.findByCustomerId(customerId, pageable);
+        hydrate(orders.getContent());
         return orders.map(this::mapToResponseDto);
     }
 
@@ -99,42 +150,64 @@ public class OrderServiceImpl implements OrderService {
     @Transactional(readOnly = true)
     public List<OrderResponseDto> getCustomerOrders(String customerId) {
         List<Order> orders = orderRepository.findByCustomerId(customerId);
+        hydrate(orders);
         return orders.stream()
                 .map(this::mapToResponseDto)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryDto> getCustomerOrderSummaries(String customerId, Pageable pageable) {
+        return orderRepository.findSummariesByCustomerId(customerId, pageable);
+    }
+
+    /**
+     * Runs outside the class transaction so each optimistic-lock retry starts a fresh one
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderResponseDto updateOrderStatus(UUID orderId, OrderStatusUpdateRequestDto request) {
         log.info("Updating order status for order ID: {} to status: {}", orderId, request.getStatus());
 
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+        OrderResponseDto response = retryOnConflict(orderId, () -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
 
-        Order.OrderStatus oldStatus = order.getStatus();
-        order.setStatus(request.getStatus());
+            // Cancelling releases the order's stock, so an order must never leave CANCELLED and be cancelled again
+            Order.OrderStatus oldStatus = order.getStatus();
+            if (oldStatus == null || !oldStatus.canTransitionTo(request.getStatus())) {
+                throw new IllegalStateException("Cannot change order status from " + oldStatus + " to "
+                        + request.getStatus());
+            }
+            order.setStatus(request.getStatus());
 
-        // Update specific dates based on status
-        if (request.getStatus() == Order.OrderStatus.SHIPPED) {
-            order.setShippedDate(LocalDateTime.now());
-        } else if (request.getStatus() == Order.OrderStatus.DELIVERED) {
-            order.setDeliveredDate(LocalDateTime.now());
-        }
+            // Update specific dates based on status
+            if (request.getStatus() == Order.OrderStatus.SHIPPED) {
+                order.setShippedDate(LocalDateTime.now());
+            } else if (request.getStatus() == Order.OrderStatus.DELIVERED) {
+                order.setDeliveredDate(LocalDateTime.now());
+            }
+
+            // Flushed now, so a concurrent change fails the version check before any history is written
+            Order updatedOrder = orderRepository.saveAndFlush(order);
 
-        Order updatedOrder = orderRepository.save(order);
+            // Add status history
+            addOrderStatusHistory(updatedOrder, oldStatus, request.getStatus(), request.getNotes());
 
-        // Add status history
-        addOrderStatusHistory(updatedOrder, oldStatus, request.getStatus(), request.getNotes());
+            return mapToResponseDto(updatedOrder);
+        });
 
         log.info("Order status updated successfully for order ID: {}", orderId);
 
-        return mapToResponseDto(updatedOrder);
+        return response;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<OrderResponseDto> getOrdersByStatus(Order.OrderStatus status) {
         List<Order> orders = orderRepository.findByStatus(status);
+        hydrate(orders);
         return orders.stream()
                 .map(this::mapToResponseDto)
                 .collect(Collectors.toList());
@@ -144,50 +217,325 @@ public class OrderServiceImpl implements OrderService {
     @Transactional(readOnly = true)
     public List<OrderResponseDto> getCustomerOrdersByStatus(String customerId, Order.OrderStatus status) {
         List<Order> orders = orderRepository.findByCustomerIdAndStatus(customerId, status);
+        hydrate(orders);
         return orders.stream()
                 .map(this::mapToResponseDto)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public OrderPageDto getOrdersByStatusPage(Order.OrderStatus status, String cursor, int limit) {
+        return getOrdersPage(null, status, cursor, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageDto getCustomerOrdersByStatusPage(String customerId, Order.OrderStatus status,
+                                                      String cursor, int limit) {
+        return getOrdersPage(customerId, status, cursor, limit);
+    }
+
+    private OrderPageDto getOrdersPage(String customerId, Order.OrderStatus status, String cursor, int limit) {
+        OrderPageCursor after = OrderPageDto.parseCursor(cursor, limit, status);
+        List<Order> rows = orderRepository.findPageByStatus(customerId, status, after, limit + 1);
+        hydrate(rows);
+        return OrderPageDto.of(rows, status, limit, this::mapToResponseDto);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cancelOrder(UUID orderId, String reason) {
         log.info("Cancelling order with ID: {}", orderId);
 
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+        retryOnConflict(orderId, () -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
 
-        if (order.getStatus() == Order.OrderStatus.DELIVERED ||
-            order.getStatus() == Order.OrderStatus.CANCELLED) {
-            throw new IllegalStateException("Cannot cancel order with status: " + order.getStatus());
-        }
+            // Shipped goods are gone; releasing their stock would let the units be sold again
+            if (order.getStatus() == null || !order.getStatus().canTransitionTo(Order.OrderStatus.CANCELLED)) {
+                throw new IllegalStateException("Cannot cancel order with status: " + order.getStatus());
+            }
 
-        Order.OrderStatus oldStatus = order.getStatus();
-        order.setStatus(Order.OrderStatus.CANCELLED);
+            Order.OrderStatus oldStatus = order.getStatus();
+            order.setStatus(Order.OrderStatus.CANCELLED);
 
-        orderRepository.save(order);
-        addOrderStatusHistory(order, oldStatus, Order.OrderStatus.CANCELLED, reason);
+            orderRepository.saveAndFlush(order);
+            addOrderStatusHistory(order, oldStatus, Order.OrderStatus.CANCELLED, reason);
+            return null;
+        });
 
         log.info("Order cancelled successfully with ID: {}", orderId);
     }
 
+    @Override
+    public int expirePendingOrders(Collection<UUID> orderIds, LocalDateTime placedBefore) {
+        List<Order> orders = orderRepository.lockPendingPlacedBefore(orderIds, placedBefore);
+        if (orders.isEmpty()) {
+            return 0;
+        }
+        // Items are needed to release the reserved stock
+        orderRepository.fetchItems(orders.stream().map(Order::getId).toList());
+        for (Order order : orders) {
+            order.setStatus(Order.OrderStatus.CANCELLED);
+            addOrderStatusHistory(order, Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED,
+                    "Payment window expired");
+        }
+        return orders.size();
+    }
+
+    /**
+     * Each chunk is locked, validated and written in its own transaction, so a failing chunk
+     * only fails its own orders and a wave of thousands never holds all row locks at once
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkOrderStatusUpdateResultDto bulkUpdateOrderStatus(BulkOrderStatusUpdateRequestDto request) {
+        List<BulkOrderStatusUpdateRequestDto.Transition> transitions = request.getTransitions();
+        if (transitions == null || transitions.isEmpty()) {
+            throw new IllegalArgumentException("transitions must not be empty");
+        }
+        if (transitions.size() > BulkOrderStatusUpdateRequestDto.MAX_TRANSITIONS) {
+            throw new IllegalArgumentException("At most " + BulkOrderStatusUpdateRequestDto.MAX_TRANSITIONS +
+                    " transitions can be applied at once");
+        }
+        log.info("Applying {} bulk order status transitions", transitions.size());
+
+        // Malformed entries and repeated orders fail up front; the first transition of an order wins
+        BulkOrderStatusUpdateResultDto.Result[] results = new BulkOrderStatusUpdateResultDto.Result[transitions.size()];
+        Map<UUID, Order.OrderStatus> requested = new LinkedHashMap<>();
+        for (int i = 0; i < transitions.size(); i++) {
+            BulkOrderStatusUpdateRequestDto.Transition transition = transitions.get(i);
+            if (transition == null || transition.getOrderId() == null || transition.getStatus() == null) {
+                results[i] = bulkFailure(transition != null ? transition.getOrderId() : null, null,
+                        transition != null ? transition.getStatus() : null, "orderId and status are required");
+            } else if (requested.putIfAbsent(transition.getOrderId(), transition.getStatus()) != null) {
+                results[i] = bulkFailure(transition.getOrderId(), null, transition.getStatus(),
+                        "Order appears more than once in the request");
+            }
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<UUID> orderIds = new ArrayList<>(requested.keySet());
+        Map<UUID, BulkOrderStatusUpdateResultDto.Result> outcomes = new HashMap<>();
+        for (int from = 0; from < orderIds.size(); from += BULK_CHUNK_SIZE) {
+            Map<UUID, Order.OrderStatus> chunk = new LinkedHashMap<>();
+            for (UUID id : orderIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, orderIds.size()))) {
+                chunk.put(id, requested.get(id));
+            }
+            try {
+                outcomes.putAll(transactionTemplate.execute(status -> applyTransitions(chunk, request.getNotes())));
+            } catch (RuntimeException e) {
+                log.error("Bulk status update of {} orders failed and was rolled back", chunk.size(), e);
+                chunk.forEach((id, target) -> outcomes.put(id,
+                        bulkFailure(id, null, target, "Update failed and was rolled back")));
+            }
+        }
+
+        int succeeded = 0;
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = outcomes.get(transitions.get(i).getOrderId());
+            }
+            if (results[i].isSuccess()) {
+                succeeded++;
+            }
+        }
+        log.info("Bulk order status update finished: {} succeeded, {} failed",
+                succeeded, results.length - succeeded);
+        return BulkOrderStatusUpdateResultDto.builder()
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Lock and validate one chunk, then issue one UPDATE per target status and batch-insert the history
+     * The side effects of addOrderStatusHistory (outbox events, stats, stock release, expiry) are applied
+     * per chunk, with the stats folded into one relative update per customer
+     */
+    private Map<UUID, BulkOrderStatusUpdateResultDto.Result> applyTransitions(Map<UUID, Order.OrderStatus> chunk,
+                                                                              String notes) {
+        Map<UUID, Order> orders = orderRepository.lockAllByIdIn(chunk.keySet()).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        Map<UUID, BulkOrderStatusUpdateResultDto.Result> outcomes = new HashMap<>();
+        Map<Order.OrderStatus, List<Order>> byTarget = new EnumMap<>(Order.OrderStatus.class);
+        chunk.forEach((id, target) -> {
+            Order order = orders.get(id);
+            if (order == null) {
+                outcomes.put(id, bulkFailure(id, null, target, "Order not found"));
+            } else if (order.getStatus() == null || !order.getStatus().canTransitionTo(target)) {
+                outcomes.put(id, bulkFailure(id, order.getStatus(), target,
+                        "Cannot change status from " + order.getStatus() + " to " + target));
+            } else {
+                byTarget.computeIfAbsent(target, status -> new ArrayList<>()).add(order);
+            }
+        });
+        if (byTarget.isEmpty()) {
+            return outcomes;
+        }
+
+        // The updates clear the persistence context; the loaded orders are only read from here on
+        LocalDateTime now = LocalDateTime.now();
+        byTarget.forEach((target, targetOrders) -> orderRepository.updateStatus(
+                targetOrders.stream().map(Order::getId).toList(), target,
+                target == Order.OrderStatus.SHIPPED ? now : null,
+                target == Order.OrderStatus.DELIVERED ? now : null,
+                now));
+
+        List<OrderStatusHistory> histories = new ArrayList<>();
+        List<CustomerOrderStatsService.Transition> statsTransitions = new ArrayList<>();
+        List<UUID> cancelledIds = new ArrayList<>();
+        byTarget.forEach((target, targetOrders) -> {
+            for (Order order : targetOrders) {
+                Order.OrderStatus previous = order.getStatus();
+                OrderStatusHistory history = new OrderStatusHistory();
+                history.setOrder(orderRepository.getReferenceById(order.getId()));
+                history.setOldStatus(previous.name());
+                history.setNewStatus(target.name());
+                history.setChangedOn(now);
+                history.setNotes(notes);
+                histories.add(history);
+                recordOrderEvent(order, history);
+
+                statsTransitions.add(new CustomerOrderStatsService.Transition(order, previous, target));
+                if (target == Order.OrderStatus.CANCELLED) {
+                    cancelledIds.add(order.getId());
+                }
+                if (previous == Order.OrderStatus.PENDING) {
+                    pendingOrderExpiry.unschedule(order.getId());
+                }
+                outcomes.put(order.getId(), BulkOrderStatusUpdateResultDto.Result.builder()
+                        .orderId(order.getId().toString())
+                        .previousStatus(previous)
+                        .status(target)
+                        .success(true)
+                        .build());
+            }
+        });
+        statusHistoryRepository.saveAll(histories);
+        customerOrderStatsService.recordTransitions(statsTransitions);
+        if (!cancelledIds.isEmpty()) {
+            inventoryService.release(orderRepository.fetchItems(cancelledIds).stream()
+                    .flatMap(order -> order.getOrderItems().stream())
+                    .toList());
+        }
+        return outcomes;
+    }
+
+    /**
+     * Run a read-modify-write of one order in its own transaction, retrying with freshly read state
+     * when its versioned UPDATE finds the row changed. A new transaction is needed per attempt:
+     * under REPEATABLE READ, re-reading in the failed one would return the same stale snapshot
+     */
+    private <T> T retryOnConflict(UUID orderId, Supplier<T> update) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> update.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= STATUS_UPDATE_MAX_ATTEMPTS) {
+                    log.warn("Order {} still modified concurrently after {} attempts", orderId, attempt);
+                    throw new OrderUpdateConflictException(orderId, attempt, e);
+                }
+                log.debug("Order {} modified concurrently, retrying (attempt {})", orderId, attempt);
+                try {
+                    // Jittered linear backoff so colliding writers do not retry in lockstep
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(STATUS_UPDATE_BACKOFF_MILLIS * attempt + 1));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new OrderUpdateConflictException(orderId, attempt, e);
+                }
+            }
+        }
+    }
+
+    private BulkOrderStatusUpdateResultDto.Result bulkFailure(UUID orderId, Order.OrderStatus previous,
+                                                              Order.OrderStatus target, String error) {
+        return BulkOrderStatusUpdateResultDto.Result.builder()
+                .orderId(orderId != null ? orderId.toString() : null)
+                .previousStatus(previous)
+                .status(target)
+                .success(false)
+                .error(error)
+                .build();
+    }
+
+    /**
+     * The chunk is locked, copied to the archive and deleted from the hot tables in one transaction,
+     * so a run stopped at any point leaves every order in exactly one place
+     */
+    @Override
+    public int archiveOrders(Order.OrderStatus status, LocalDateTime placedBefore, int limit) {
+        if (!OrderArchive.ARCHIVABLE_STATUSES.contains(status)) {
+            throw new IllegalArgumentException("Orders in status " + status + " cannot be archived");
+        }
+        List<Order> orders = orderRepository.lockOldestByStatusPlacedBefore(status, placedBefore,
+                PageRequest.of(0, limit));
+        if (orders.isEmpty()) {
+            return 0;
+        }
+        hydrate(orders);
+        orderArchive.store(orders.stream().map(this::mapToResponseDto).toList());
+
+        List<UUID> ids = orders.stream().map(Order::getId).toList();
+        statusHistoryRepository.deleteByOrderIdIn(ids);
+        orderItemRepository.deleteByOrderIdIn(ids);
+        orderRepository.deleteAllByIdIn(ids);
+        log.debug("Archived {} {} orders placed before {}", ids.size(), status, placedBefore);
+        return ids.size();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<OrderResponseDto.OrderStatusHistoryDto> getOrderStatusHistory(UUID orderId) {
         List<OrderStatusHistory> history = statusHistoryRepository.findByOrderIdOrderByChangedOnDesc(orderId);
+        if (history.isEmpty()) {
+            // Every hot order has at least its creation entry, so this is an archived or unknown order
+            return orderArchive.findById(orderId)
+                    .filter(order -> order.getStatusHistory() != null)
+                    .map(order -> order.getStatusHistory().stream()
+                            .sorted(Comparator.comparing(OrderResponseDto.OrderStatusHistoryDto::getChangedOn,
+                                    Comparator.nullsLast(Comparator.reverseOrder())))
+                            .toList())
+                    .orElse(List.of());
+        }
         return history.stream()
                 .map(this::mapStatusHistoryToDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Resolve every product of the order with a single query and price the line items
+     * All unknown product IDs are reported together, before anything is written
+     */
     private List<OrderItem> createOrderItems(OrderRequestDto request) {
+        Set<UUID> productIds = request.getItems().stream()
+                .map(item -> UUID.fromString(item.getProductId()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<UUID, Product> products = productRepository.findAllByIdWithCategory(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<String> missingIds = productIds.stream()
+                .filter(id -> !products.containsKey(id))
+                .map(UUID::toString)
+                .collect(Collectors.toList());
+        if (!missingIds.isEmpty()) {
+            throw new ProductNotFoundException("Product not found with id: " + String.join(", ", missingIds));
+        }
+
         return request.getItems().stream()
                 .map(item -> {
-                    Product product = productRepository.findById(UUID.fromString(item.getProductId()))
-                            .orElseThrow(() -> new ProductNotFoundException(
-                                    "Product not found with id: " + item.getProductId()));
+                    Product product = products.get(UUID.fromString(item.getProductId()));
 
                     OrderItem orderItem = new OrderItem();
                     orderItem.setProduct(product);
+                    orderItem.setProductId(product.getId());
+                    orderItem.setProductName(product.getName());
+                    orderItem.setProductTitle(product.getTitle());
+                    orderItem.setCurrency(product.getPrice().getCurrency());
                     orderItem.setQuantity(item.getQuantity());
                     orderItem.setUnitPrice(BigDecimal.valueOf(product.getPrice().getPrice()));
                     orderItem.setTotalPrice(BigDecimal.valueOf(product.getPrice().getPrice())
@@ -204,11 +552,10 @@ public class OrderServiceImpl implements OrderService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
-    private String generateOrderNumber() {
-        return "ORD-" + System.currentTimeMillis() + "-" +
-               String.format("%04d", (int)(Math.random() * 10000));
-    }
-
+    /**
+     * Every status change is also recorded as an ORDER outbox event and applied to the customer's
+     * order stats in the same transaction; cancelling returns the order's reserved stock
+     */
     private void addOrderStatusHistory(Order order, Order.OrderStatus oldStatus,
                                      Order.OrderStatus newStatus, String notes) {
         OrderStatusHistory history = new OrderStatusHistory();
@@ -219,6 +566,49 @@ public class OrderServiceImpl implements OrderService {
         history.setNotes(notes);
 
         statusHistoryRepository.save(history);
+        recordOrderEvent(order, history);
+        customerOrderStatsService.recordTransition(order, oldStatus, newStatus);
+        if (newStatus == Order.OrderStatus.CANCELLED && oldStatus != null && oldStatus != Order.OrderStatus.CANCELLED) {
+            inventoryService.release(order.getOrderItems());
+        }
+        if (oldStatus == Order.OrderStatus.PENDING && newStatus != Order.OrderStatus.PENDING) {
+            pendingOrderExpiry.unschedule(order.getId());
+        }
+    }
+
+    private void recordOrderEvent(Order order, OrderStatusHistory history) {
+        String eventType;
+        if (history.getOldStatus() == null) {
+            eventType = "ORDER_CREATED";
+        } else if (Order.OrderStatus.CANCELLED.name().equals(history.getNewStatus())) {
+            eventType = "ORDER_CANCELLED";
+        } else {
+            eventType = "ORDER_STATUS_CHANGED";
+        }
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderNumber", order.getOrderNumber());
+        payload.put("customerId", order.getCustomerId());
+        payload.put("oldStatus", history.getOldStatus());
+        payload.put("newStatus", history.getNewStatus());
+        payload.put("totalAmount", order.getTotalAmount());
+        payload.put("currency", order.getCurrency());
+        payload.put("changedOn", history.getChangedOn().toString());
+        outboxService.append(OutboxService.ORDER, order.getId().toString(), eventType, payload);
+    }
+
+    /**
+     * Load the items and status history of a list of orders in two queries,
+     * so mapping a page costs the same number of selects whatever its size
+     * The collections are two bags, which Hibernate cannot join-fetch together in one query
+     */
+    private void hydrate(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = orders.stream().map(Order::getId).collect(Collectors.toList());
+        orderRepository.fetchItems(ids);
+        orderRepository.fetchStatusHistory(ids);
     }
 
     private OrderResponseDto mapToResponseDto(Order order) {
@@ -250,8 +640,10 @@ public class OrderServiceImpl implements OrderService {
     private OrderResponseDto.OrderItemResponseDto mapOrderItemToDto(OrderItem item) {
         return OrderResponseDto.OrderItemResponseDto.builder()
                 .id(item.getId().toString())
-                .productId(item.getProduct().getId().toString())
-                .productName(item.getProduct().getName())
+                .productId(item.getProductId().toString())
+                .productName(item.getProductName())
+                .productTitle(item.getProductTitle())
+                .currency(item.getCurrency())
                 .quantity(item.getQuantity())
                 .unitPrice(item.getUnitPrice())
                 .totalPrice(item.getTotalPrice())
@@ -0,0 +1,96 @@
+package com.dag.productservice.service.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Payment-window deadlines of PENDING orders, held in a hashed timing wheel
+ * OrderServiceImpl schedules each new order and unschedules it when it leaves PENDING;
+ * PendingOrderExpiryJob rebuilds the wheel on startup, resyncs it periodically and cancels the orders that expire
+ */
+@Component
+@Slf4j
+public class PendingOrderExpiry {
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final HashedTimingWheel<UUID> wheel;
+    private final ConcurrentHashMap<UUID, HashedTimingWheel.Timeout<UUID>> timeouts = new ConcurrentHashMap<>();
+
+    public PendingOrderExpiry(@Value("${orders.pending-expiry.enabled:true}") boolean enabled,
+                              @Value("${orders.pending-expiry.ttl:15m}") Duration ttl,
+                              @Value("${orders.pending-expiry.tick:1s}") Duration tick,
+                              @Value("${orders.pending-expiry.wheel-size:512}") int wheelSize) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.wheel = new HashedTimingWheel<>(tick.toMillis(), wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * Expire the order ttl after it was placed
+     */
+    public void schedule(UUID orderId, LocalDateTime orderDate) {
+        scheduleAt(orderId, deadlineOf(orderDate));
+    }
+
+    /**
+     * End of the payment window of an order placed at orderDate, in epoch milliseconds
+     */
+    public long deadlineOf(LocalDateTime orderDate) {
+        LocalDateTime placed = orderDate != null ? orderDate : LocalDateTime.now();
+        return placed.plus(ttl).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Expire the order at the given time, replacing any earlier deadline
+     */
+    public void scheduleAt(UUID orderId, long deadlineMillis) {
+        if (!enabled) {
+            return;
+        }
+        HashedTimingWheel.Timeout<UUID> previous = timeouts.put(orderId, wheel.schedule(orderId, deadlineMillis));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Drop the deadline of an order that was paid, confirmed or cancelled
+     */
+    public void unschedule(UUID orderId) {
+        HashedTimingWheel.Timeout<UUID> timeout = timeouts.remove(orderId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Advance the wheel; must only be called from the expiry job's thread
+     * @return IDs of orders whose payment window has passed
+     */
+    List<UUID> expire(long nowMillis) {
+        return wheel.advance(nowMillis).stream()
+                .filter(timeout -> timeouts.remove(timeout.item(), timeout))
+                .map(HashedTimingWheel.Timeout::item)
+                .toList();
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Number of PENDING orders waiting to expire
+     */
+    public int size() {
+        return timeouts.size();
+    }
+}
@@ -0,0 +1,147 @@
+package com.dag.productservice.service.order;
+
+import com.dag.productservice.dao.schema.OrderRepository;
+import com.dag.productservice.models.Order;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancels PENDING orders whose payment window has passed, releasing their reserved stock
+ * On startup the wheel is rebuilt from the PENDING orders in the database; afterwards a single
+ * thread advances it every tick and cancels the expired orders in batches. Between startups an
+ * instance only learns of the orders it created itself, so the wheel is also resynced from the
+ * database every resync-interval; orders of an instance that died are expired by the others at
+ * most that long after their deadline. The batch cancel locks the rows and re-checks the status,
+ * so an order expired by another instance is skipped
+ */
+@Component
+@ConditionalOnProperty(name = "orders.pending-expiry.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class PendingOrderExpiryJob {
+
+    private final PendingOrderExpiry pendingOrderExpiry;
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final Duration tick;
+    private final int batchSize;
+    private final Duration retryDelay;
+    private final Duration resyncInterval;
+    private final ScheduledExecutorService executor;
+
+    public PendingOrderExpiryJob(PendingOrderExpiry pendingOrderExpiry,
+                                 OrderService orderService,
+                                 OrderRepository orderRepository,
+                                 @Value("${orders.pending-expiry.tick:1s}") Duration tick,
+                                 @Value("${orders.pending-expiry.batch-size:100}") int batchSize,
+                                 @Value("${orders.pending-expiry.retry-delay:1m}") Duration retryDelay,
+                                 @Value("${orders.pending-expiry.resync-interval:5m}") Duration resyncInterval) {
+        this.pendingOrderExpiry = pendingOrderExpiry;
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.tick = tick;
+        this.batchSize = batchSize;
+        this.retryDelay = retryDelay;
+        this.resyncInterval = resyncInterval;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("order-expiry-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        log.info("Scheduled payment-window expiry for {} pending orders", rebuild());
+        executor.scheduleAtFixedRate(this::tick, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::resync, resyncInterval.toMillis(), resyncInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedule every PENDING order; orders already past their deadline expire on the first tick
+     * @return Number of pending orders scheduled
+     */
+    int rebuild() {
+        List<Object[]> pending = orderRepository.findIdAndOrderDateByStatus(Order.OrderStatus.PENDING);
+        for (Object[] row : pending) {
+            pendingOrderExpiry.schedule((UUID) row[0], (LocalDateTime) row[1]);
+        }
+        return pending.size();
+    }
+
+    /**
+     * Runs on the expiry thread, so it never interleaves with a tick
+     */
+    void resync() {
+        try {
+            log.debug("Resynced payment-window expiry for {} pending orders", rebuild());
+        } catch (Exception e) {
+            log.warn("Failed to resync pending order expiry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs on the expiry thread; a failed batch is rescheduled after retryDelay, and orders a batch
+     * skipped although they are still PENDING are rescheduled at their deadline
+     */
+    void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            List<UUID> expired = pendingOrderExpiry.expire(now);
+            if (expired.isEmpty()) {
+                return;
+            }
+            // order_date is stored without fractional seconds and MySQL rounds it, so a row can be
+            // up to half a second later than the deadline the wheel fired for
+            LocalDateTime placedBefore = LocalDateTime.now().minus(pendingOrderExpiry.getTtl()).plusSeconds(1);
+            int cancelled = 0;
+            for (int from = 0; from < expired.size(); from += batchSize) {
+                List<UUID> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+                try {
+                    int batchCancelled = orderService.expirePendingOrders(batch, placedBefore);
+                    cancelled += batchCancelled;
+                    if (batchCancelled < batch.size()) {
+                        rescheduleStillPending(batch, now);
+                    }
+                } catch (Exception e) {
+                    log.warn("Failed to expire {} pending orders, retrying in {}: {}", batch.size(), retryDelay,
+                            e.getMessage());
+                    long retryAt = System.currentTimeMillis() + retryDelay.toMillis();
+                    batch.forEach(orderId -> pendingOrderExpiry.scheduleAt(orderId, retryAt));
+                }
+            }
+            log.info("Expired {} of {} pending orders past their payment window", cancelled, expired.size());
+        } catch (Exception e) {
+            // An exception would cancel the periodic task; keep ticking
+            log.error("Pending order expiry tick failed", e);
+        }
+    }
+
+    /**
+     * Orders of the batch that were confirmed or cancelled meanwhile are dropped; the rest are put back,
+     * no earlier than the next tick
+     */
+    private void rescheduleStillPending(List<UUID> batch, long now) {
+        for (Object[] row : orderRepository.findIdAndOrderDateByIdInAndStatus(batch, Order.OrderStatus.PENDING)) {
+            long deadline = pendingOrderExpiry.deadlineOf((LocalDateTime) row[1]);
+            pendingOrderExpiry.scheduleAt((UUID) row[0], Math.max(deadline, now + tick.toMillis()));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.dag.productservice.service.outbox;
+
+import com.dag.productservice.models.OutboxEvent;
+
+/**
+ * Downstream consumer of relayed outbox events
+ * Delivery is at least once: an event is handed to every supporting handler again when any of them
+ * failed, so handlers must be idempotent
+ */
+public interface OutboxEventHandler {
+
+    boolean supports(String aggregateType);
+
+    /**
+     * Throwing holds back this event and later events of the same aggregate until the next attempt
+     */
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,146 @@
+package com.dag.productservice.service.outbox;
+
+import com.dag.productservice.dao.schema.OutboxEventRepository;
+import com.dag.productservice.models.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Drains the outbox table in batches and hands each event to the supporting OutboxEventHandlers
+ * Events are dispatched in sequence order; when one fails, later events of the same aggregate in the
+ * batch are held back so consumers never see them out of order, while other aggregates carry on
+ * Successfully dispatched events are marked published with a single UPDATE per batch
+ * An event that fails max-attempts times is parked: it is no longer relayed, so it cannot hold the
+ * head of the outbox, and stays in the table with its last error until it is reset by hand
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+    private final int maxAttempts;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxEventHandler> handlers,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-run:10}") int maxBatchesPerRun,
+                       @Value("${outbox.retention:7d}") Duration retention,
+                       @Value("${outbox.relay.max-attempts:1000}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = retention;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Relay batches until the backlog is drained, a batch has failures, or the per-run limit is reached
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void drain() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Boolean more = transactionTemplate.execute(status -> relayBatch());
+            if (!Boolean.TRUE.equals(more)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Relay one locked batch; the row locks are held until the published marks are committed
+     * @return Whether a full batch was relayed without failures, i.e. more events may be waiting
+     */
+    boolean relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockUnpublished(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        Set<String> heldBack = new HashSet<>();
+        List<Long> published = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+            if (heldBack.contains(aggregate)) {
+                continue;
+            }
+            try {
+                dispatch(event);
+                published.add(event.getId());
+            } catch (Exception e) {
+                heldBack.add(aggregate);
+                recordFailure(event, e);
+            }
+        }
+
+        if (!published.isEmpty()) {
+            outboxEventRepository.markPublished(published, LocalDateTime.now());
+        }
+        log.debug("Relayed {} of {} outbox events", published.size(), batch.size());
+        return batch.size() == batchSize && published.size() == batch.size();
+    }
+
+    /**
+     * Delete published events past the retention period
+     */
+    @Scheduled(fixedDelayString = "${outbox.cleanup.interval-ms:3600000}")
+    public void purgePublished() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published outbox events older than {}", deleted, retention);
+        }
+    }
+
+    private void dispatch(OutboxEvent event) throws Exception {
+        for (OutboxEventHandler handler : handlers) {
+            if (handler.supports(event.getAggregateType())) {
+                handler.handle(event);
+            }
+        }
+    }
+
+    /**
+     * Attempts are persisted with the batch; warnings are limited so a long outage does not flood the log
+     */
+    private void recordFailure(OutboxEvent event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        String message = String.valueOf(e.getMessage());
+        event.setAttempts(attempts);
+        event.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        if (attempts >= maxAttempts) {
+            event.setParkedOn(LocalDateTime.now());
+            log.error("Parked outbox event {} ({} for {}:{}) after {} failed attempts; later events of the "
+                            + "aggregate are relayed without it: {}", event.getId(), event.getEventType(),
+                    event.getAggregateType(), event.getAggregateId(), attempts, message);
+        } else if (attempts == 1 || attempts % 100 == 0) {
+            log.warn("Failed to relay outbox event {} ({} for {}:{}, attempt {}): {}", event.getId(),
+                    event.getEventType(), event.getAggregateType(), event.getAggregateId(), attempts, message);
+        } else {
+            log.debug("Failed to relay outbox event {} (attempt {}): {}", event.getId(), attempts, message);
+        }
+    }
+}
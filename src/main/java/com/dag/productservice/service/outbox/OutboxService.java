@@ -0,0 +1,62 @@
+package com.dag.productservice.service.outbox;
+
+import com.dag.productservice.dao.schema.OutboxEventRepository;
+import com.dag.productservice.models.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records domain events in the outbox table for OutboxRelay to publish
+ * Appending joins the caller's transaction, so an event exists exactly when its change was committed
+ */
+@Service
+@Slf4j
+public class OutboxService {
+
+    public static final String PRODUCT = "PRODUCT";
+    public static final String ORDER = "ORDER";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Append an event; costs the writer one insert
+     * @param aggregateType PRODUCT or ORDER; events are ordered per aggregate type and ID
+     * @param payload Serialized to JSON, may be null
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent append(String aggregateType, String aggregateId, String eventType, Object payload) {
+        OutboxEvent event = OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .payload(toJson(payload))
+                .createdOn(LocalDateTime.now())
+                .build();
+        OutboxEvent saved = outboxEventRepository.save(event);
+        log.debug("Recorded outbox event {} for {}:{}", eventType, aggregateType, aggregateId);
+        return saved;
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.dag.productservice.service.outbox;
+
+import com.dag.productservice.models.OutboxEvent;
+import com.dag.productservice.service.search.ProductIndexingService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the search index in step with product writes, in the order they were committed
+ */
+@Component
+@ConditionalOnProperty(name = "elasticsearch.enabled", havingValue = "true")
+public class ProductSearchOutboxHandler implements OutboxEventHandler {
+
+    private final ProductIndexingService productIndexingService;
+
+    public ProductSearchOutboxHandler(ProductIndexingService productIndexingService) {
+        this.productIndexingService = productIndexingService;
+    }
+
+    @Override
+    public boolean supports(String aggregateType) {
+        return OutboxService.PRODUCT.equals(aggregateType);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        if ("PRODUCT_DELETED".equals(event.getEventType())) {
+            productIndexingService.removeProductFromIndex(event.getAggregateId());
+        } else {
+            productIndexingService.indexProduct(event.getAggregateId());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.dag.productservice.service.outbox;
+
+import com.dag.productservice.models.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes relayed events to Redis pub/sub
+ * Product events go to product-cache-events as EVENT_TYPE:productId for CacheInvalidationService;
+ * order events go to order-events as a JSON envelope carrying the outbox sequence ID for de-duplication
+ * Messages are plain strings so subscribers do not have to unwrap JSON-encoded values
+ */
+@Component
+@Slf4j
+public class RedisOutboxPublisher implements OutboxEventHandler {
+
+    public static final String PRODUCT_CHANNEL = "product-cache-events";
+    public static final String ORDER_CHANNEL = "order-events";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public RedisOutboxPublisher(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper) {
+        this(new StringRedisTemplate(connectionFactory), objectMapper);
+    }
+
+    RedisOutboxPublisher(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(String aggregateType) {
+        return OutboxService.PRODUCT.equals(aggregateType) || OutboxService.ORDER.equals(aggregateType);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        if (OutboxService.PRODUCT.equals(event.getAggregateType())) {
+            stringRedisTemplate.convertAndSend(PRODUCT_CHANNEL, event.getEventType() + ":" + event.getAggregateId());
+        } else {
+            stringRedisTemplate.convertAndSend(ORDER_CHANNEL, toEnvelope(event));
+        }
+        log.debug("Published {} for {}:{}", event.getEventType(), event.getAggregateType(), event.getAggregateId());
+    }
+
+    private String toEnvelope(OutboxEvent event) throws Exception {
+        ObjectNode envelope = objectMapper.createObjectNode();
+        envelope.put("id", event.getId());
+        envelope.put("type", event.getEventType());
+        envelope.put("aggregateId", event.getAggregateId());
+        envelope.put("createdOn", event.getCreatedOn() != null ? event.getCreatedOn().toString() : null);
+        if (event.getPayload() != null) {
+            envelope.set("payload", objectMapper.readTree(event.getPayload()));
+        }
+        return objectMapper.writeValueAsString(envelope);
+    }
+}
@@ -2,20 +2,32 @@ package com.dag.productservice.service.product;
 
 import com.dag.productservice.dao.schema.CategoryRepository;
 import com.dag.productservice.dao.schema.LocalProductRepository;
+import com.dag.productservice.dto.ProductIdBatch;
+import com.dag.productservice.dto.ProductPageCursor;
+import com.dag.productservice.dto.ProductPageDto;
 import com.dag.productservice.dto.ProductRequestDto;
 import com.dag.productservice.dto.ProductResponseDto;
 import com.dag.productservice.exception.NotFoundException;
 import com.dag.productservice.models.Category;
 import com.dag.productservice.models.Product;
+import com.dag.productservice.service.cache.ProductBatchCache;
+import com.dag.productservice.service.cache.ProductCatalogCache;
+import com.dag.productservice.service.outbox.OutboxService;
 import com.dag.productservice.validators.Validators;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.context.annotation.Primary;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,51 +35,143 @@ import java.util.UUID;
  * Cached implementation of ProductService using Redis
  * Provides caching for frequently accessed product data to improve performance
  * and reduce database load
+ * Writes record their cache invalidation event in the outbox within the same transaction
  */
 @Service
 @Primary
 @Slf4j
 public class CachedLocalProductService implements ProductService {
 
+    public static final String PRODUCTS_CACHE = "products";
+
+    /**
+     * Short-lived cache of product IDs known to be absent, cleared by PRODUCT_CREATED events
+     */
+    public static final String MISSING_PRODUCTS_CACHE = "missing-products";
+
+    /**
+     * Short-lived cache of keyset listing pages, cleared on every product write
+     */
+    public static final String PRODUCT_PAGES_CACHE = "product-pages";
+
     private final LocalProductRepository localProductRepository;
     private final CategoryRepository categoryRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final OutboxService outboxService;
+    private final CacheManager cacheManager;
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductBatchCache productBatchCache;
 
     public CachedLocalProductService(LocalProductRepository localProductRepository,
                                      CategoryRepository categoryRepository,
-                                     RedisTemplate<String, Object> redisTemplate) {
+                                     OutboxService outboxService,
+                                     CacheManager cacheManager,
+                                     ProductCatalogCache productCatalogCache,
+                                     ProductBatchCache productBatchCache) {
         this.localProductRepository = localProductRepository;
         this.categoryRepository = categoryRepository;
-        this.redisTemplate = redisTemplate;
+        this.outboxService = outboxService;
+        this.cacheManager = cacheManager;
+        this.productCatalogCache = productCatalogCache;
+        this.productBatchCache = productBatchCache;
         log.info("CachedLocalProductService initialized with Redis caching");
     }
 
+    /**
+     * Known-absent IDs are rejected before the synchronized load, so scans of missing IDs never
+     * queue behind the per-key lock or the cross-node load lease
+     * Other loads are synchronized so concurrent misses for the same ID share a single database read,
+     * and hot entries are refreshed in the background ahead of expiry (cache.refresh-ahead.beta.products)
+     */
     @Override
-    @Cacheable(value = "products", key = "#id", unless = "#result == null")
     public ProductResponseDto getProductById(String id) {
+        Cache missingProducts = getMissingProductsCache();
+        if (missingProducts != null && missingProducts.get(id) != null) {
+            log.debug("Product ID: {} is known to be absent, skipping database lookup", id);
+            throw new NotFoundException("Product not found");
+        }
+
+        Cache products = cacheManager != null ? cacheManager.getCache(PRODUCTS_CACHE) : null;
+        if (products == null) {
+            return loadProduct(id, missingProducts);
+        }
+        try {
+            return products.get(id, () -> loadProduct(id, missingProducts));
+        } catch (Cache.ValueRetrievalException e) {
+            // Unwrapped as @Cacheable(sync = true) does, so a missing product still surfaces as NotFoundException
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private ProductResponseDto loadProduct(String id, Cache missingProducts) {
         log.debug("Fetching product from database for ID: {}", id);
-        Optional<Product> product = this.localProductRepository.findById(UUID.fromString(id));
+        Optional<ProductResponseDto> product = this.localProductRepository.findResponseById(UUID.fromString(id));
         if (product.isEmpty()) {
             log.warn("Product not found for ID: {}", id);
+            if (missingProducts != null) {
+                missingProducts.put(id, Boolean.TRUE);
+            }
             throw new NotFoundException("Product not found");
         }
         log.debug("Product found and cached for ID: {}", id);
-        return new ProductResponseDto(product.get());
+        return product.get();
     }
 
+    /**
+     * The listing is assembled from the incrementally patched catalog hash;
+     * the full table is only scanned when the catalog has to be rebuilt
+     */
     @Override
-    @Cacheable(value = "products", key = "'all'")
     public List<ProductResponseDto> getAllProducts() {
-        log.debug("Fetching all products from database");
-        List<ProductResponseDto> products = this.localProductRepository.findAll().stream()
-                .map(ProductResponseDto::new)
+        return productCatalogCache.getAll(() -> {
+            log.debug("Fetching all products from database");
+            List<ProductResponseDto> products = this.localProductRepository.findAllResponses();
+            log.debug("Retrieved {} products for catalog rebuild", products.size());
+            return products;
+        });
+    }
+
+    /**
+     * Keyset-paginated listing; each page is a single indexed range query and is cached on its own
+     */
+    @Override
+    @Cacheable(value = PRODUCT_PAGES_CACHE, key = "#sort + ':' + #limit + ':' + (#cursor ?: '')")
+    public ProductPageDto getProductsPage(String cursor, int limit, String sort) {
+        ProductPageCursor.Sort pageSort = ProductPageCursor.Sort.fromParameter(sort);
+        ProductPageCursor after = ProductPageDto.parseCursor(cursor, limit, pageSort);
+        log.debug("Fetching product page from database (sort: {}, limit: {})", sort, limit);
+        return ProductPageDto.of(this.localProductRepository.findPage(pageSort, after, limit + 1), pageSort, limit);
+    }
+
+    /**
+     * Batch lookup in about two round trips: one MGET for cached products and one fetch-joined
+     * IN query for the rest, which are then backfilled into the cache with a single pipelined write
+     * Unknown IDs are left out of the result
+     */
+    @Override
+    public List<ProductResponseDto> getProductsByIds(List<String> ids) {
+        List<String> requested = ProductIdBatch.normalize(ids);
+        Map<String, ProductResponseDto> found = new HashMap<>(productBatchCache.getAll(requested));
+
+        List<UUID> missing = requested.stream()
+                .filter(id -> !found.containsKey(id))
+                .map(UUID::fromString)
                 .toList();
-        log.debug("Retrieved {} products and cached", products.size());
-        return products;
+        if (!missing.isEmpty()) {
+            log.debug("Fetching {} of {} requested products from database", missing.size(), requested.size());
+            long start = System.currentTimeMillis();
+            List<ProductResponseDto> loaded = this.localProductRepository.findAllResponsesByIds(missing);
+            productBatchCache.putAll(loaded, System.currentTimeMillis() - start);
+            loaded.forEach(product -> found.put(product.getId(), product));
+        }
+        return ProductIdBatch.inRequestOrder(requested, found);
     }
 
     @Override
-    @CacheEvict(value = "products", allEntries = true)
+    @Transactional
+    @CacheEvict(value = PRODUCT_PAGES_CACHE, allEntries = true)
     public ProductResponseDto createProduct(ProductRequestDto requestDto) {
         log.debug("Creating new product: {}", requestDto.getName());
 
@@ -80,6 +184,7 @@ public class CachedLocalProductService implements ProductService {
             product.setPrice(requestDto.getPrice());
             product.setDescription(requestDto.getDescription());
             product.setTitle(requestDto.getTitle());
+            product.setCreatedOn(LocalDateTime.now());
 
             if (requestDto.getCategory() != null && !requestDto.getCategory().isEmpty()) {
                 if (!Validators.UUID_VALIDATOR.get().isValid(requestDto.getCategory()))
@@ -90,18 +195,31 @@ public class CachedLocalProductService implements ProductService {
             }
 
             Product createdProduct = this.localProductRepository.save(product);
-            log.info("Product created and cache invalidated: {}", createdProduct.getId());
+            log.info("Product created: {}", createdProduct.getId());
+
+            // Other nodes clear their negative entries when they receive PRODUCT_CREATED
+            Cache missingProducts = getMissingProductsCache();
+            if (missingProducts != null) {
+                missingProducts.evict(createdProduct.getId().toString());
+            }
 
-            // Publish cache invalidation event
-            publishCacheInvalidationEvent("PRODUCT_CREATED", createdProduct.getId().toString());
+            ProductResponseDto createdDto = new ProductResponseDto(createdProduct);
+            productCatalogCache.upsert(createdDto);
 
-            return new ProductResponseDto(createdProduct);
+            // Other instances evict their copies when the relay publishes this after commit
+            outboxService.append(OutboxService.PRODUCT, createdProduct.getId().toString(), "PRODUCT_CREATED", null);
+
+            return createdDto;
         }
         throw new IllegalArgumentException("Invalid input");
     }
 
     @Override
-    @CacheEvict(value = "products", key = "#id")
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = PRODUCTS_CACHE, key = "#id"),
+            @CacheEvict(value = PRODUCT_PAGES_CACHE, allEntries = true)
+    })
     public ProductResponseDto deleteProductById(String id) {
         log.debug("Deleting product with ID: {}", id);
 
@@ -112,11 +230,12 @@ public class CachedLocalProductService implements ProductService {
         if (this.localProductRepository.existsById(uuid)) {
             Product product = this.localProductRepository.findById(uuid).get();
             this.localProductRepository.deleteById(uuid);
+            productCatalogCache.remove(id);
 
             log.info("Product deleted and cache invalidated: {}", id);
 
-            // Publish cache invalidation event
-            publishCacheInvalidationEvent("PRODUCT_DELETED", id);
+            // Other instances evict their copies when the relay publishes this after commit
+            outboxService.append(OutboxService.PRODUCT, id, "PRODUCT_DELETED", null);
 
             return new ProductResponseDto(product);
         }
@@ -124,7 +243,11 @@ public class CachedLocalProductService implements ProductService {
     }
 
     @Override
-    @CacheEvict(value = "products", key = "#id")
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = PRODUCTS_CACHE, key = "#id"),
+            @CacheEvict(value = PRODUCT_PAGES_CACHE, allEntries = true)
+    })
     public ProductResponseDto updateProductById(String id, ProductRequestDto requestDto) {
         log.debug("Updating product with ID: {}", id);
 
@@ -142,12 +265,14 @@ public class CachedLocalProductService implements ProductService {
                 product.setPrice(requestDto.getPrice());
 
                 Product updatedProduct = this.localProductRepository.save(product);
+                ProductResponseDto updatedDto = new ProductResponseDto(updatedProduct);
+                productCatalogCache.upsert(updatedDto);
                 log.info("Product updated and cache invalidated: {}", id);
 
-                // Publish cache invalidation event
-                publishCacheInvalidationEvent("PRODUCT_UPDATED", id);
+                // Other instances evict their copies when the relay publishes this after commit
+                outboxService.append(OutboxService.PRODUCT, id, "PRODUCT_UPDATED", null);
 
-                return new ProductResponseDto(updatedProduct);
+                return updatedDto;
             } else {
                 throw new NotFoundException("Product not found");
             }
@@ -155,17 +280,7 @@ public class CachedLocalProductService implements ProductService {
         throw new IllegalArgumentException("Invalid input");
     }
 
-    /**
-     * Publishes cache invalidation events to Redis pub/sub
-     * This allows other services or instances to react to cache changes
-     */
-    private void publishCacheInvalidationEvent(String eventType, String productId) {
-        try {
-            String message = eventType + ":" + productId;
-            redisTemplate.convertAndSend("product-cache-events", message);
-            log.debug("Published cache invalidation event: {}", message);
-        } catch (Exception e) {
-            log.warn("Failed to publish cache invalidation event: {}", e.getMessage());
-        }
+    private Cache getMissingProductsCache() {
+        return cacheManager != null ? cacheManager.getCache(MISSING_PRODUCTS_CACHE) : null;
     }
 }
@@ -1,6 +1,10 @@
 package com.dag.productservice.service.product;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -8,6 +12,9 @@ import org.springframework.stereotype.Service;
 
 import com.dag.productservice.clients.fakestore.FakeStoreProductServiceClient;
 import com.dag.productservice.dto.FakeStoreResponseDto;
+import com.dag.productservice.dto.ProductIdBatch;
+import com.dag.productservice.dto.ProductPageCursor;
+import com.dag.productservice.dto.ProductPageDto;
 import com.dag.productservice.dto.ProductRequestDto;
 import com.dag.productservice.dto.ProductResponseDto;
 import com.dag.productservice.exception.NotFoundException;
@@ -59,6 +66,64 @@ public class FakeStoreProductService implements ProductService {
                 .map(this::convertFakeStoreProductIntoGenericProductResponse)
                 .collect(Collectors.toList());
     }
+    /**
+     * The Fake Store API has no paging, so the full listing is fetched and sliced by numeric ID
+     * The cursor is the ID of the last product of the previous page; products carry no creation date
+     */
+    @Override
+    public ProductPageDto getProductsPage(String cursor, int limit, String sort) {
+        if (limit < 1 || limit > ProductPageDto.MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + ProductPageDto.MAX_LIMIT);
+        }
+        if (ProductPageCursor.Sort.fromParameter(sort) != ProductPageCursor.Sort.ID) {
+            throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+        long after = cursor == null || cursor.isEmpty() ? Long.MIN_VALUE : parseId(cursor, "Invalid cursor");
+        List<ProductResponseDto> rows = getAllProducts().stream()
+                .filter(product -> Long.parseLong(product.getId()) > after)
+                .sorted(Comparator.comparingLong(product -> Long.parseLong(product.getId())))
+                .limit(limit + 1L)
+                .collect(Collectors.toList());
+        boolean hasNext = rows.size() > limit;
+        List<ProductResponseDto> items = hasNext ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        String nextCursor = hasNext ? items.get(items.size() - 1).getId() : null;
+        return new ProductPageDto(items, nextCursor, limit);
+    }
+
+    /**
+     * One Fake Store call per distinct ID; unknown IDs are left out, as in the local implementation
+     */
+    @Override
+    public List<ProductResponseDto> getProductsByIds(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        Set<String> unique = new LinkedHashSet<>();
+        for (String id : ids) {
+            unique.add(String.valueOf(parseId(id != null ? id.trim() : null, "Invalid input")));
+        }
+        if (unique.size() > ProductIdBatch.MAX_IDS) {
+            throw new IllegalArgumentException("At most " + ProductIdBatch.MAX_IDS + " ids can be requested at once");
+        }
+        List<ProductResponseDto> products = new ArrayList<>(unique.size());
+        for (String id : unique) {
+            try {
+                products.add(getProductById(id));
+            } catch (NotFoundException e) {
+                // Left out of the result
+            }
+        }
+        return products;
+    }
+
+    private static long parseId(String id, String message) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
     @Override
     public ProductResponseDto deleteProductById(String id) {
         FakeStoreResponseDto fakeStoreResponseDto = this.fakeStoryProductServiceClient.deleteProductById(Long.parseLong(id));
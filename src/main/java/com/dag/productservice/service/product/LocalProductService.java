@@ -2,6 +2,9 @@ package com.dag.productservice.service.product;
 
 import com.dag.productservice.dao.schema.CategoryRepository;
 import com.dag.productservice.dao.schema.LocalProductRepository;
+import com.dag.productservice.dto.ProductIdBatch;
+import com.dag.productservice.dto.ProductPageCursor;
+import com.dag.productservice.dto.ProductPageDto;
 import com.dag.productservice.dto.ProductRequestDto;
 import com.dag.productservice.dto.ProductResponseDto;
 import com.dag.productservice.exception.NotFoundException;
@@ -10,9 +13,13 @@ import com.dag.productservice.models.Product;
 import com.dag.productservice.validators.Validators;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class LocalProductService implements ProductService {
@@ -28,11 +35,11 @@ public class LocalProductService implements ProductService {
 
     @Override
     public ProductResponseDto getProductById(String id) {
-        Optional<Product> product = this.localProductRepository.findById(UUID.fromString(id));
+        Optional<ProductResponseDto> product = this.localProductRepository.findResponseById(UUID.fromString(id));
         if (product.isEmpty()) {
             throw new NotFoundException("Product not found");
         } else
-            return new ProductResponseDto(product.get());
+            return product.get();
     }
 
     @Override
@@ -46,6 +53,7 @@ public class LocalProductService implements ProductService {
             product.setDescription(requestDto.getDescription());
             product.setPrice(requestDto.getPrice());
             product.setTitle(requestDto.getTitle());
+            product.setCreatedOn(LocalDateTime.now());
             if (requestDto.getCategory() != null && !requestDto.getCategory().isEmpty()) {
                 if (!Validators.UUID_VALIDATOR.get().isValid(requestDto.getCategory()))
                     throw new IllegalArgumentException("Invalid input");
@@ -61,8 +69,23 @@ public class LocalProductService implements ProductService {
 
     @Override
     public List<ProductResponseDto> getAllProducts() {
-        return this.localProductRepository.findAll().stream()
-                .map(ProductResponseDto::new).toList();
+        return this.localProductRepository.findAllResponses();
+    }
+
+    @Override
+    public ProductPageDto getProductsPage(String cursor, int limit, String sort) {
+        ProductPageCursor.Sort pageSort = ProductPageCursor.Sort.fromParameter(sort);
+        ProductPageCursor after = ProductPageDto.parseCursor(cursor, limit, pageSort);
+        return ProductPageDto.of(this.localProductRepository.findPage(pageSort, after, limit + 1), pageSort, limit);
+    }
+
+    @Override
+    public List<ProductResponseDto> getProductsByIds(List<String> ids) {
+        List<String> requested = ProductIdBatch.normalize(ids);
+        Map<String, ProductResponseDto> found = this.localProductRepository
+                .findAllResponsesByIds(requested.stream().map(UUID::fromString).toList()).stream()
+                .collect(Collectors.toMap(ProductResponseDto::getId, Function.identity()));
+        return ProductIdBatch.inRequestOrder(requested, found);
     }
 
     @Override
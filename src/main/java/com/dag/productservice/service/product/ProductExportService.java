@@ -0,0 +1,43 @@
+package com.dag.productservice.service.product;
+
+import com.dag.productservice.dao.schema.LocalProductRepository;
+import com.dag.productservice.dto.ProductResponseDto;
+import com.dag.productservice.service.export.NdjsonExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.OutputStream;
+
+/**
+ * Streams the full product catalog as NDJSON (one ProductResponseDto per line)
+ * Heap use stays flat no matter how large the catalog is; see NdjsonExportWriter
+ */
+@Service
+public class ProductExportService {
+
+    private final LocalProductRepository localProductRepository;
+    private final NdjsonExportWriter<ProductResponseDto> exportWriter;
+
+    public ProductExportService(LocalProductRepository localProductRepository,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Value("${products.export.clear-interval:1000}") int clearInterval) {
+        this.localProductRepository = localProductRepository;
+        this.exportWriter = new NdjsonExportWriter<>(ProductResponseDto.class, objectMapper, entityManager,
+                transactionManager, clearInterval);
+    }
+
+    /**
+     * Write every product to the stream as one JSON document per line
+     * @param out Response stream; flushed but not closed
+     * @return Number of rows written
+     */
+    public long exportNdjson(OutputStream out) {
+        return exportWriter.write(localProductRepository::streamAllWithPriceAndCategory, ProductResponseDto::new,
+                out, "products");
+    }
+}
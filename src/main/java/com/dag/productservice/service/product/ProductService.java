@@ -1,5 +1,6 @@
 package com.dag.productservice.service.product;
 
+import com.dag.productservice.dto.ProductPageDto;
 import com.dag.productservice.dto.ProductRequestDto;
 import com.dag.productservice.dto.ProductResponseDto;
 
@@ -12,6 +13,10 @@ public interface ProductService {
 
     List<ProductResponseDto> getAllProducts();
 
+    ProductPageDto getProductsPage(String cursor, int limit, String sort);
+
+    List<ProductResponseDto> getProductsByIds(List<String> ids);
+
     ProductResponseDto deleteProductById(String id); 
 
     ProductResponseDto updateProductById(String id, ProductRequestDto requestDto);
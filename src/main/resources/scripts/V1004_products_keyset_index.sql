@@ -0,0 +1,7 @@
+-- V1004: Keyset pagination support for the product listing
+-- Backfill creation timestamps so every product can be paged in createdOn order
+
+UPDATE `products` SET `created_on` = NOW() WHERE `created_on` IS NULL;
+
+-- Composite index matching ORDER BY created_on, id for keyset range scans
+CREATE INDEX `idx_products_created_on_id` ON `products` (`created_on`, `id`);
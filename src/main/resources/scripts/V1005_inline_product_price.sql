@@ -0,0 +1,40 @@
+-- V1005: Inline price into products
+-- Each product had its own prices row, so every read joined (or lazily selected) it
+-- and every create inserted it separately; the price now lives on the products row
+-- price_id and the audit columns are kept, so the price in product JSON keeps its ID and audit fields
+
+ALTER TABLE `products` ADD COLUMN `currency` VARCHAR(10) AFTER `image`;
+ALTER TABLE `products` ADD COLUMN `price` DOUBLE AFTER `currency`;
+ALTER TABLE `products`
+    ADD COLUMN `price_modified_by` VARCHAR(255),
+    ADD COLUMN `price_modified_on` DATETIME,
+    ADD COLUMN `price_created_by` VARCHAR(255),
+    ADD COLUMN `price_created_on` DATETIME,
+    ADD COLUMN `price_is_deleted` BOOLEAN;
+
+UPDATE `products` p
+    JOIN `prices` pr ON pr.`id` = p.`price_id`
+SET p.`currency` = pr.`currency`,
+    p.`price` = pr.`price`,
+    p.`price_modified_by` = pr.`modified_by`,
+    p.`price_modified_on` = pr.`modified_on`,
+    p.`price_created_by` = pr.`created_by`,
+    p.`price_created_on` = pr.`created_on`,
+    p.`price_is_deleted` = pr.`is_deleted`;
+
+-- The foreign key name depends on whether V1001 or Hibernate created it, so look it up
+SET @price_fk := (
+    SELECT `CONSTRAINT_NAME` FROM `information_schema`.`KEY_COLUMN_USAGE`
+    WHERE `TABLE_SCHEMA` = DATABASE()
+      AND `TABLE_NAME` = 'products'
+      AND `COLUMN_NAME` = 'price_id'
+      AND `REFERENCED_TABLE_NAME` = 'prices'
+    LIMIT 1);
+SET @drop_price_fk := IF(@price_fk IS NULL, 'SELECT 1',
+    CONCAT('ALTER TABLE `products` DROP FOREIGN KEY `', @price_fk, '`'));
+PREPARE drop_price_fk FROM @drop_price_fk;
+EXECUTE drop_price_fk;
+DEALLOCATE PREPARE drop_price_fk;
+
+-- price_id stays as the price's own ID; it no longer references anything
+DROP TABLE `prices`;
@@ -0,0 +1,52 @@
+-- V1006: Compact UUID keys
+-- Primary and foreign keys move from BINARY(36) to BINARY(16), cutting every key and
+-- secondary index entry by 20 bytes. New rows get time-ordered (version 7) UUIDs from
+-- UuidV7Generator, so inserts append to the primary key instead of splitting random pages.
+--
+-- Existing rows hold either 16 raw bytes padded with 20 zero bytes (Hibernate, UUID_TO_BIN)
+-- or the 36-character text form (V1002 seed data). Both normalize to the same 16 bytes, so
+-- every referencing column stays consistent with the key it points to. Existing IDs keep
+-- their values; only their storage shrinks.
+--
+-- Run during a maintenance window: each ALTER rebuilds its table.
+
+DELIMITER //
+CREATE FUNCTION `v1006_uuid16`(v BINARY(36)) RETURNS BINARY(16) DETERMINISTIC
+BEGIN
+    IF v IS NULL THEN
+        RETURN NULL;
+    END IF;
+    IF RIGHT(v, 20) = UNHEX(REPEAT('00', 20)) THEN
+        RETURN LEFT(v, 16);
+    END IF;
+    RETURN UUID_TO_BIN(CAST(v AS CHAR(36)));
+END //
+DELIMITER ;
+
+SET @v1006_sql_mode := @@SESSION.sql_mode;
+SET FOREIGN_KEY_CHECKS = 0;
+-- Normalized values end in zero padding, which the narrowing ALTERs below drop
+SET SESSION sql_mode = REPLACE(REPLACE(@@SESSION.sql_mode, 'STRICT_TRANS_TABLES', ''), 'STRICT_ALL_TABLES', '');
+
+UPDATE `categories` SET `id` = `v1006_uuid16`(`id`);
+UPDATE `products` SET `id` = `v1006_uuid16`(`id`), `category_id` = `v1006_uuid16`(`category_id`),
+    `price_id` = `v1006_uuid16`(`price_id`);
+UPDATE `orders` SET `id` = `v1006_uuid16`(`id`);
+UPDATE `order_items` SET `id` = `v1006_uuid16`(`id`), `order_id` = `v1006_uuid16`(`order_id`),
+    `product_id` = `v1006_uuid16`(`product_id`);
+UPDATE `order_status_history` SET `id` = `v1006_uuid16`(`id`), `order_id` = `v1006_uuid16`(`order_id`);
+UPDATE `product_orders` SET `order_id` = `v1006_uuid16`(`order_id`), `product_id` = `v1006_uuid16`(`product_id`);
+
+ALTER TABLE `categories` MODIFY `id` BINARY(16) NOT NULL;
+ALTER TABLE `products` MODIFY `id` BINARY(16) NOT NULL, MODIFY `category_id` BINARY(16),
+    MODIFY `price_id` BINARY(16);
+ALTER TABLE `orders` MODIFY `id` BINARY(16) NOT NULL;
+ALTER TABLE `order_items` MODIFY `id` BINARY(16) NOT NULL, MODIFY `order_id` BINARY(16) NOT NULL,
+    MODIFY `product_id` BINARY(16) NOT NULL;
+ALTER TABLE `order_status_history` MODIFY `id` BINARY(16) NOT NULL, MODIFY `order_id` BINARY(16) NOT NULL;
+ALTER TABLE `product_orders` MODIFY `order_id` BINARY(16) NOT NULL, MODIFY `product_id` BINARY(16) NOT NULL;
+
+SET SESSION sql_mode = @v1006_sql_mode;
+SET FOREIGN_KEY_CHECKS = 1;
+
+DROP FUNCTION `v1006_uuid16`;
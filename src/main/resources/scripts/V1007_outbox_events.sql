@@ -0,0 +1,17 @@
+-- V1007: Transactional outbox for product and order events
+-- Rows are written in the same transaction as the change and relayed in id order by OutboxRelay
+
+CREATE TABLE IF NOT EXISTS `outbox_events` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `aggregate_type` VARCHAR(32) NOT NULL,
+    `aggregate_id` VARCHAR(64) NOT NULL,
+    `event_type` VARCHAR(64) NOT NULL,
+    `payload` TEXT,
+    `created_on` DATETIME(6) NOT NULL,
+    `published_on` DATETIME(6),
+    `attempts` INT NOT NULL DEFAULT 0,
+    `last_error` VARCHAR(1000),
+    PRIMARY KEY (`id`),
+    -- Unpublished rows sort first (NULL), so the relay's scan is an index range read
+    INDEX `idx_outbox_events_published_on_id` (`published_on`, `id`)
+) ENGINE=InnoDB;
@@ -0,0 +1,12 @@
+-- V1008: Keyset pagination and streaming export of orders by status
+-- Backfill order dates so every order can be paged in (order_date, id) order
+
+UPDATE `orders` SET `order_date` = COALESCE(`created_on`, NOW()) WHERE `order_date` IS NULL;
+
+-- Composite indexes matching WHERE status = ? [AND customer_id = ?] ORDER BY order_date, id
+CREATE INDEX `idx_orders_status_order_date_id` ON `orders` (`status`, `order_date`, `id`);
+CREATE INDEX `idx_orders_customer_status_order_date_id` ON `orders` (`customer_id`, `status`, `order_date`, `id`);
+
+-- Both are covered by the leftmost columns of the new indexes
+DROP INDEX `idx_orders_status` ON `orders`;
+DROP INDEX `idx_orders_customer_id` ON `orders`;
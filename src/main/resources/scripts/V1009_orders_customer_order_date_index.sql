@@ -0,0 +1,5 @@
+-- V1009: Customer order summary list
+-- Serves WHERE customer_id = ? ORDER BY order_date DESC, id DESC without a filesort;
+-- replaces the single-column idx_orders_customer_id dropped in V1008
+
+CREATE INDEX `idx_orders_customer_order_date_id` ON `orders` (`customer_id`, `order_date`, `id`);
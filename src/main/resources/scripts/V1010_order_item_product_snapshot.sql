@@ -0,0 +1,43 @@
+-- V1010: Product snapshot on order items
+-- Order reads showed the product's current name through a join to products, so renaming or
+-- deleting a product rewrote order history. Items now keep the name, title and currency the
+-- product had when the order was placed.
+
+ALTER TABLE `order_items` ADD COLUMN `product_name` VARCHAR(255) AFTER `product_id`;
+ALTER TABLE `order_items` ADD COLUMN `product_title` VARCHAR(255) AFTER `product_name`;
+ALTER TABLE `order_items` ADD COLUMN `currency` VARCHAR(10) AFTER `product_title`;
+
+-- Backfill from the current catalog in primary key chunks, each committed on its own, so
+-- products rows are only locked briefly. Items of already deleted products stay NULL.
+DELIMITER //
+CREATE PROCEDURE `v1010_backfill_order_item_snapshots`(IN chunk_size INT)
+BEGIN
+    DECLARE last_id BINARY(16) DEFAULT NULL;
+    DECLARE chunk_end BINARY(16);
+    backfill: LOOP
+        SELECT MAX(chunk.`id`) INTO chunk_end FROM (
+            SELECT `id` FROM `order_items`
+            WHERE last_id IS NULL OR `id` > last_id
+            ORDER BY `id`
+            LIMIT chunk_size) chunk;
+        IF chunk_end IS NULL THEN
+            LEAVE backfill;
+        END IF;
+
+        UPDATE `order_items` oi
+            JOIN `products` p ON p.`id` = oi.`product_id`
+        SET oi.`product_name` = p.`name`,
+            oi.`product_title` = p.`title`,
+            oi.`currency` = p.`currency`
+        WHERE (last_id IS NULL OR oi.`id` > last_id)
+          AND oi.`id` <= chunk_end
+          AND oi.`product_name` IS NULL;
+        COMMIT;
+
+        SET last_id = chunk_end;
+    END LOOP backfill;
+END //
+DELIMITER ;
+
+CALL `v1010_backfill_order_item_snapshots`(10000);
+DROP PROCEDURE `v1010_backfill_order_item_snapshots`;
@@ -0,0 +1,38 @@
+-- V1011: Customer order stats read model
+-- One row per customer, maintained incrementally on order writes; replaces the per-request
+-- COUNT/SUM scans of orders for account pages. Lifetime spend is the total of delivered orders
+
+CREATE TABLE IF NOT EXISTS `customer_order_stats` (
+    `customer_id` VARCHAR(255) NOT NULL,
+    `order_count` BIGINT NOT NULL DEFAULT 0,
+    `lifetime_spend` DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    `last_order_date` DATETIME(6) NULL,
+    `pending_count` BIGINT NOT NULL DEFAULT 0,
+    `confirmed_count` BIGINT NOT NULL DEFAULT 0,
+    `processing_count` BIGINT NOT NULL DEFAULT 0,
+    `shipped_count` BIGINT NOT NULL DEFAULT 0,
+    `delivered_count` BIGINT NOT NULL DEFAULT 0,
+    `cancelled_count` BIGINT NOT NULL DEFAULT 0,
+    `refunded_count` BIGINT NOT NULL DEFAULT 0,
+    `modified_on` DATETIME(6) NULL,
+    PRIMARY KEY (`customer_id`)
+) ENGINE=InnoDB;
+
+INSERT INTO `customer_order_stats` (`customer_id`, `order_count`, `lifetime_spend`, `last_order_date`,
+                                    `pending_count`, `confirmed_count`, `processing_count`, `shipped_count`,
+                                    `delivered_count`, `cancelled_count`, `refunded_count`, `modified_on`)
+SELECT `customer_id`,
+       COUNT(*),
+       COALESCE(SUM(CASE WHEN `status` = 'DELIVERED' THEN `total_amount` END), 0),
+       MAX(`order_date`),
+       SUM(`status` = 'PENDING'),
+       SUM(`status` = 'CONFIRMED'),
+       SUM(`status` = 'PROCESSING'),
+       SUM(`status` = 'SHIPPED'),
+       SUM(`status` = 'DELIVERED'),
+       SUM(`status` = 'CANCELLED'),
+       SUM(`status` = 'REFUNDED'),
+       NOW(6)
+FROM `orders`
+WHERE `customer_id` IS NOT NULL
+GROUP BY `customer_id`;
@@ -0,0 +1,12 @@
+-- V1012: Product stock for order reservations
+-- Only products with a row are stock-tracked. Reservations run against in-process or Redis
+-- counters; reserved is written behind from them with relative updates
+
+CREATE TABLE IF NOT EXISTS `product_stock` (
+    `product_id` BINARY(16) NOT NULL,
+    `on_hand` BIGINT NOT NULL DEFAULT 0,
+    `reserved` BIGINT NOT NULL DEFAULT 0,
+    `modified_on` DATETIME(6),
+    PRIMARY KEY (`product_id`),
+    FOREIGN KEY (`product_id`) REFERENCES `products`(`id`) ON DELETE CASCADE
+) ENGINE=InnoDB;
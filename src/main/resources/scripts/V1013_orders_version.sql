@@ -0,0 +1,6 @@
+-- V1013: Optimistic locking of orders
+-- Status updates read, modify and write the order row. Concurrent writers overwrote each
+-- other and recorded status history from a stale previous status. Updates now check and
+-- increment a version, and retry on conflict.
+
+ALTER TABLE `orders` ADD COLUMN `version` BIGINT NOT NULL DEFAULT 0;
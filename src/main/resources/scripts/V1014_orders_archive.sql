@@ -0,0 +1,21 @@
+-- V1014: Cold order archive
+-- Delivered, cancelled and refunded orders past orders.archive.min-age are moved here in chunks
+-- by OrderArchiveJob and deleted from orders, order_items and order_status_history. The hot
+-- tables and their indexes then only hold recent orders and stay within the buffer pool.
+-- Each archived order is one JSON document of the order API response; lookups by ID or order
+-- number fall back to this table
+
+CREATE TABLE IF NOT EXISTS `orders_archive` (
+    `id` BINARY(16) NOT NULL,
+    `order_number` VARCHAR(50) NOT NULL,
+    `customer_id` VARCHAR(255),
+    `status` VARCHAR(20) NOT NULL,
+    `total_amount` DECIMAL(10,2) NOT NULL,
+    `order_date` DATETIME(6),
+    `archived_on` DATETIME(6) NOT NULL,
+    `document` MEDIUMTEXT NOT NULL,
+    PRIMARY KEY (`id`),
+    UNIQUE INDEX `idx_orders_archive_order_number` (`order_number`),
+    -- Customer order stats rebuild aggregates archived orders per customer and status
+    INDEX `idx_orders_archive_customer_status` (`customer_id`, `status`)
+) ENGINE=InnoDB;
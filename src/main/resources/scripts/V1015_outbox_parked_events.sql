@@ -0,0 +1,11 @@
+-- V1015: Park outbox events that keep failing
+-- An event that always failed was retried forever and, once a batch worth of them had piled up,
+-- blocked every later event. After outbox.relay.max-attempts failures the relay sets parked_on
+-- and skips the event. Reset parked_on to NULL to relay a parked event again.
+
+ALTER TABLE `outbox_events` ADD COLUMN `parked_on` DATETIME(6);
+
+-- Relayable rows have both columns NULL, so the relay's scan stays an index range read
+ALTER TABLE `outbox_events`
+    DROP INDEX `idx_outbox_events_published_on_id`,
+    ADD INDEX `idx_outbox_events_published_on_parked_on_id` (`published_on`, `parked_on`, `id`);
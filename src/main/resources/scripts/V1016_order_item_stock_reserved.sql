@@ -0,0 +1,14 @@
+-- V1016: Remember which order items reserved stock
+-- Cancellation released the units of every line item of a now stock-tracked product, including
+-- orders placed while the product was untracked, which inflated available stock and pushed
+-- product_stock.reserved down. Items now record whether units were taken when the order was placed.
+
+ALTER TABLE `order_items` ADD COLUMN `stock_reserved` BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Open orders of tracked products were reserved by the code that placed them; when tracking began
+-- is not recorded, so those are assumed reserved, matching what cancelling them released before
+UPDATE `order_items` oi
+    JOIN `orders` o ON o.`id` = oi.`order_id`
+    JOIN `product_stock` ps ON ps.`product_id` = oi.`product_id`
+SET oi.`stock_reserved` = TRUE
+WHERE o.`status` IN ('PENDING', 'CONFIRMED', 'PROCESSING');
@@ -0,0 +1,116 @@
+package com.dag.productservice.benchmark;
+
+import com.dag.productservice.models.UuidV7Generator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Insert rate and index size of random BINARY(36) keys (uuid2, before V1006) versus
+ * time-ordered BINARY(16) keys (UuidV7Generator, after V1006) on a real InnoDB table
+ * Needs Docker; run with: mvn test -Dtest=UuidKeyInsertBenchmark -Dbenchmark=true [-Dbenchmark.rows=500000]
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UuidKeyInsertBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 200_000);
+    private static final int BATCH_SIZE = 1000;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @Test
+    void timeOrderedBinary16Keys_ShouldInsertFasterAndIndexSmaller_ThanRandomBinary36Keys() throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+                MYSQL.getJdbcUrl() + "?rewriteBatchedStatements=true", MYSQL.getUsername(), MYSQL.getPassword())) {
+            Result before = run(connection, "keys_random_binary36", 36, () -> toBytes(UUID.randomUUID()));
+            Result after = run(connection, "keys_v7_binary16", 16, () -> toBytes(UuidV7Generator.next()));
+
+            System.out.printf("%-22s %12s %14s %14s%n", "keys", "rows/sec", "data bytes", "index bytes");
+            System.out.println(before);
+            System.out.println(after);
+
+            assertTrue(after.dataBytes + after.indexBytes < before.dataBytes + before.indexBytes,
+                    "Compact time-ordered keys should take less space");
+        }
+    }
+
+    /**
+     * Insert ROWS rows shaped like order_items (primary key plus an indexed foreign key)
+     * in committed JDBC batches, then read the table and index size from InnoDB statistics
+     */
+    private Result run(Connection connection, String table, int keyLength, Supplier<byte[]> keys) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + table + " (" +
+                    "id BINARY(" + keyLength + ") PRIMARY KEY, " +
+                    "order_id BINARY(" + keyLength + ") NOT NULL, " +
+                    "quantity INT NOT NULL, " +
+                    "INDEX idx_" + table + "_order_id (order_id))");
+        }
+
+        connection.setAutoCommit(false);
+        byte[] orderId = keys.get();
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, order_id, quantity) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= ROWS; i++) {
+                if (i % 10 == 0) {
+                    orderId = keys.get();
+                }
+                insert.setBytes(1, keys.get());
+                insert.setBytes(2, orderId);
+                insert.setInt(3, 1);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+        connection.setAutoCommit(true);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION information_schema_stats_expiry = 0");
+            statement.execute("ANALYZE TABLE " + table);
+            try (ResultSet sizes = statement.executeQuery(
+                    "SELECT DATA_LENGTH, INDEX_LENGTH FROM information_schema.TABLES " +
+                            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '" + table + "'")) {
+                assertTrue(sizes.next());
+                return new Result(table, Math.round(ROWS / seconds), sizes.getLong(1), sizes.getLong(2));
+            }
+        }
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private record Result(String table, long rowsPerSecond, long dataBytes, long indexBytes) {
+        @Override
+        public String toString() {
+            return String.format("%-22s %12d %14d %14d", table, rowsPerSecond, dataBytes, indexBytes);
+        }
+    }
+}
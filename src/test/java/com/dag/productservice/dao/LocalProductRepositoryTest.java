@@ -0,0 +1,146 @@
+package com.dag.productservice.dao;
+
+import com.dag.productservice.dao.schema.LocalProductRepository;
+import com.dag.productservice.dto.ProductResponseDto;
+import com.dag.productservice.models.Category;
+import com.dag.productservice.models.Price;
+import com.dag.productservice.models.Product;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class LocalProductRepositoryTest {
+
+    private static final int PRODUCT_COUNT = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LocalProductRepository localProductRepository;
+
+    private Statistics statistics;
+    private UUID firstProductId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setName("Books");
+        entityManager.persist(category);
+
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setTitle("Title " + i);
+            product.setDescription("Description " + i);
+            product.setCategory(category);
+            product.setPrice(new Price("USD", 10.0 + i));
+            entityManager.persist(product);
+            if (firstProductId == null) {
+                firstProductId = product.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllResponses_ShouldReadListInSingleStatement() {
+        // When
+        List<ProductResponseDto> products = localProductRepository.findAllResponses();
+
+        // Then
+        assertEquals(PRODUCT_COUNT, products.size());
+        products.forEach(product -> {
+            assertEquals("Books", product.getCategory());
+            assertEquals("USD", product.getPrice().getCurrency());
+        });
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findResponseById_ShouldReadProductInSingleStatement() {
+        // When
+        Optional<ProductResponseDto> product = localProductRepository.findResponseById(firstProductId);
+
+        // Then
+        assertTrue(product.isPresent());
+        assertEquals(firstProductId.toString(), product.get().getId());
+        assertEquals(10.0, product.get().getPrice().getPrice());
+        assertEquals("Books", product.get().getCategory());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllResponsesByIds_ShouldReadBatchInSingleStatement() {
+        // When
+        List<ProductResponseDto> products = localProductRepository.findAllResponsesByIds(List.of(firstProductId));
+
+        // Then
+        assertEquals(1, products.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAll_ThenMappingEntities_ShouldIssueExtraSelects() {
+        // When - the pre-projection read path, kept as a baseline for the counts above
+        List<ProductResponseDto> products = localProductRepository.findAll().stream()
+                .map(ProductResponseDto::new)
+                .toList();
+
+        // Then - the eager category is loaded with a second select
+        assertEquals(PRODUCT_COUNT, products.size());
+        assertTrue(statistics.getPrepareStatementCount() > 1);
+    }
+
+    @Test
+    void save_ShouldInsertProductAndPriceInSingleStatement() {
+        // Given
+        Product product = new Product();
+        product.setName("Inline Price Product");
+        product.setPrice(new Price("EUR", 42.0));
+
+        // When
+        localProductRepository.saveAndFlush(product);
+
+        // Then
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void save_ShouldKeepPriceIdAndAuditFieldsOnTheProductRow() {
+        // Given
+        Product product = new Product();
+        product.setName("Audited Price Product");
+        Price price = new Price("EUR", 42.0);
+        price.setCreatedBy("catalog-import");
+        product.setPrice(price);
+        UUID priceId = product.getPrice().getId();
+
+        // When
+        localProductRepository.saveAndFlush(product);
+        entityManager.clear();
+        Product loaded = localProductRepository.findById(product.getId()).orElseThrow();
+
+        // Then
+        assertNotNull(priceId);
+        assertEquals(priceId, loaded.getPrice().getId());
+        assertEquals("catalog-import", loaded.getPrice().getCreatedBy());
+    }
+}
@@ -0,0 +1,137 @@
+package com.dag.productservice.dao;
+
+import com.dag.productservice.dao.schema.OrderRepository;
+import com.dag.productservice.dto.OrderPageCursor;
+import com.dag.productservice.dto.OrderSummaryDto;
+import com.dag.productservice.models.Order;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderRepositoryTest {
+
+    private static final int DELIVERED_COUNT = 7;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final List<Order> delivered = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime base = LocalDateTime.of(2024, 6, 1, 12, 0);
+        for (int i = 0; i < DELIVERED_COUNT; i++) {
+            // Pairs of orders share an order date so the id tie-break is exercised
+            String customerId = i % 2 == 0 ? "customer-even" : "customer-odd";
+            delivered.add(persist(customerId, Order.OrderStatus.DELIVERED, base.plusMinutes(i / 2)));
+        }
+        persist("customer-even", Order.OrderStatus.PENDING, base.plusDays(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findPageByStatus_ShouldWalkEveryOrderOnceNewestFirst_AcrossPages() {
+        // Given
+        List<UUID> expected = delivered.stream()
+                .sorted(newestFirst())
+                .map(Order::getId)
+                .toList();
+
+        // When
+        List<UUID> walked = new ArrayList<>();
+        OrderPageCursor after = null;
+        List<Order> page;
+        do {
+            page = orderRepository.findPageByStatus(null, Order.OrderStatus.DELIVERED, after, 3);
+            page.forEach(order -> walked.add(order.getId()));
+            if (!page.isEmpty()) {
+                Order last = page.get(page.size() - 1);
+                after = new OrderPageCursor(Order.OrderStatus.DELIVERED, last.getOrderDate(), last.getId());
+            }
+        } while (page.size() == 3);
+
+        // Then
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    void findPageByStatus_ShouldOnlyReturnTheCustomersOrders_WhenCustomerIsGiven() {
+        // When
+        List<Order> page = orderRepository.findPageByStatus("customer-odd", Order.OrderStatus.DELIVERED, null, 10);
+
+        // Then
+        assertEquals(DELIVERED_COUNT / 2, page.size());
+        assertTrue(page.stream().allMatch(order -> "customer-odd".equals(order.getCustomerId())));
+    }
+
+    @Test
+    void streamByStatus_ShouldReturnOnlyOrdersInThatStatus_InIndexOrder() {
+        // When
+        List<UUID> streamed;
+        try (Stream<Order> orders = orderRepository.streamByStatus(Order.OrderStatus.DELIVERED)) {
+            streamed = orders.map(Order::getId).collect(Collectors.toList());
+        }
+
+        // Then
+        List<UUID> expected = delivered.stream()
+                .sorted(newestFirst().reversed())
+                .map(Order::getId)
+                .toList();
+        assertEquals(expected, streamed);
+    }
+
+    @Test
+    void findSummariesByCustomerId_ShouldReadOnlyOrderRows_NewestFirst() {
+        // When
+        Page<OrderSummaryDto> page = orderRepository.findSummariesByCustomerId("customer-even", PageRequest.of(0, 3));
+
+        // Then - one projection query plus the count, and no entity (or item/history) loads
+        assertEquals(5, page.getTotalElements());
+        assertEquals(3, page.getContent().size());
+        assertEquals(Order.OrderStatus.PENDING, page.getContent().get(0).getStatus());
+        assertFalse(page.getContent().get(1).getOrderDate().isBefore(page.getContent().get(2).getOrderDate()));
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private Order persist(String customerId, Order.OrderStatus status, LocalDateTime orderDate) {
+        Order order = new Order();
+        order.setOrderNumber("ORD-" + UUID.randomUUID());
+        order.setCustomerId(customerId);
+        order.setStatus(status);
+        order.setTotalAmount(BigDecimal.TEN);
+        order.setOrderDate(orderDate);
+        return entityManager.persist(order);
+    }
+
+    private static Comparator<Order> newestFirst() {
+        return Comparator.comparing(Order::getOrderDate).thenComparing(Order::getId).reversed();
+    }
+}
@@ -0,0 +1,90 @@
+package com.dag.productservice.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_ShouldProduceVersion7RfcVariantUuid_WithCurrentTimestamp() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        UUID uuid = UuidV7Generator.next();
+
+        // Then
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long timestamp = UuidV7Generator.timestampOf(uuid);
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis() + 1000);
+    }
+
+    @Test
+    void next_ShouldBeStrictlyIncreasing_InByteOrder() {
+        // Given
+        UUID previous = UuidV7Generator.next();
+
+        for (int i = 0; i < 10_000; i++) {
+            // When
+            UUID current = UuidV7Generator.next();
+
+            // Then - unsigned comparison of the leading bits is the BINARY(16) index order
+            assertTrue(Long.compareUnsigned(current.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = current;
+        }
+    }
+
+    @Test
+    void nextTimestampAndCounter_ShouldKeepIncreasing_WhenClockStepsBackwards() {
+        // Given
+        long now = System.currentTimeMillis();
+        long first = UuidV7Generator.nextTimestampAndCounter(now);
+
+        // When
+        long afterRegression = UuidV7Generator.nextTimestampAndCounter(now - 5_000);
+
+        // Then
+        assertTrue(afterRegression > first);
+    }
+
+    @Test
+    void next_ShouldNotCollide_AcrossThreads() throws Exception {
+        // Given
+        int threads = 8;
+        int perThread = 20_000;
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            // When
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        seen.add(UuidV7Generator.next());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+
+            // Then
+            assertEquals(threads * perThread, seen.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.dag.productservice.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NdjsonExportWriterTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private NdjsonExportWriter<Row> exportWriter;
+
+    @BeforeEach
+    void setUp() {
+        exportWriter = new NdjsonExportWriter<>(Row.class, objectMapper, entityManager, transactionManager, 2);
+    }
+
+    @Test
+    void write_ShouldWriteOneDocumentPerLine_AndClearPersistenceContextInChunks() throws Exception {
+        // Given
+        AtomicBoolean streamClosed = new AtomicBoolean();
+        Stream<Integer> rows = IntStream.range(0, 5).boxed().onClose(() -> streamClosed.set(true));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long written = exportWriter.write(() -> rows, index -> new Row("row " + index), out, "rows");
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, written);
+        assertEquals(5, lines.length);
+        assertEquals("row 0", objectMapper.readTree(lines[0]).get("name").asText());
+        assertTrue(streamClosed.get());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void write_ShouldWriteNothing_WhenThereAreNoRows() {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long written = exportWriter.write(Stream::<Integer>empty, index -> new Row("row " + index), out, "rows");
+
+        // Then
+        assertEquals(0, written);
+        assertEquals(0, out.size());
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    void write_ShouldCloseRowStream_WhenClientDisconnects() {
+        // Given
+        AtomicBoolean streamClosed = new AtomicBoolean();
+        Stream<Integer> rows = IntStream.range(0, 3).boxed().onClose(() -> streamClosed.set(true));
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When & Then
+        UncheckedIOException thrown = assertThrows(UncheckedIOException.class, () ->
+                exportWriter.write(() -> rows, index -> new Row("row " + index), disconnected, "rows"));
+        assertTrue(thrown.getMessage().contains("Export of rows aborted"));
+        assertTrue(streamClosed.get());
+    }
+
+    record Row(String name) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.dag.productservice.service.inventory;
+
+import com.dag.productservice.dao.schema.LocalProductRepository;
+import com.dag.productservice.dao.schema.ProductStockRepository;
+import com.dag.productservice.exception.InsufficientStockException;
+import com.dag.productservice.models.OrderItem;
+import com.dag.productservice.models.ProductStock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceTest {
+
+    @Mock
+    private ProductStockRepository stockRepository;
+
+    @Mock
+    private LocalProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LocalStockCounterStore counters;
+    private InventoryService inventoryService;
+    private UUID tracked;
+    private UUID untracked;
+
+    @BeforeEach
+    void setUp() {
+        counters = new LocalStockCounterStore(4);
+        inventoryService = new InventoryService(stockRepository, productRepository, counters, transactionManager);
+        tracked = UUID.randomUUID();
+        untracked = UUID.randomUUID();
+        lenient().when(stockRepository.findAllById(any())).thenReturn(List.of(ProductStock.builder()
+                .productId(tracked)
+                .onHand(10)
+                .reserved(4)
+                .build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reserve_ShouldLoadCountersOnce_AndDecrementTrackedProductsOnly() {
+        // When
+        inventoryService.reserve(List.of(item(tracked, 2), item(untracked, 50)));
+        inventoryService.reserve(List.of(item(tracked, 3)));
+
+        // Then
+        assertThat(counters.available(tracked)).isEqualTo(1);
+        assertThat(counters.available(untracked)).isNull();
+        verify(stockRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void release_ShouldSkipItemsPlacedBeforeTheProductWasTracked() {
+        // Given - the product was untracked when the order was placed, then stock tracking began
+        counters.load(Map.of(), Set.of(untracked));
+        OrderItem placedUntracked = item(untracked, 3);
+        inventoryService.reserve(List.of(placedUntracked));
+        counters.adjust(untracked, 10);
+        counters.load(Map.of(untracked, 10L), Set.of());
+
+        // When
+        inventoryService.release(List.of(placedUntracked));
+        inventoryService.flush();
+
+        // Then
+        assertThat(placedUntracked.isStockReserved()).isFalse();
+        assertThat(counters.available(untracked)).isEqualTo(10);
+        verify(stockRepository, never()).addReserved(eq(untracked), anyLong(), any());
+    }
+
+    @Test
+    void reserve_ShouldRejectWholeOrder_WhenOneLineIsShort() {
+        // Given
+        UUID other = UUID.randomUUID();
+        counters.load(Map.of(other, 5L), Set.of());
+
+        // When & Then
+        assertThatThrownBy(() -> inventoryService.reserve(List.of(item(other, 2), item(tracked, 7))))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining(tracked.toString());
+        assertThat(counters.available(other)).isEqualTo(5);
+        assertThat(counters.available(tracked)).isEqualTo(6);
+    }
+
+    @Test
+    void reserve_ShouldGiveUnitsBack_WhenTransactionRollsBack() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        inventoryService.reserve(List.of(item(tracked, 6)));
+        assertThat(counters.available(tracked)).isZero();
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        assertThat(counters.available(tracked)).isEqualTo(6);
+        inventoryService.flush();
+        verify(stockRepository, never()).addReserved(any(), anyLong(), any());
+    }
+
+    @Test
+    void flush_ShouldWriteNetCommittedDeltas() {
+        // Given
+        OrderItem cancelled = item(tracked, 2);
+        inventoryService.reserve(List.of(cancelled));
+        inventoryService.reserve(List.of(item(tracked, 3)));
+        inventoryService.release(List.of(cancelled));
+
+        // When
+        inventoryService.flush();
+        inventoryService.flush();
+
+        // Then
+        verify(stockRepository, times(1)).addReserved(eq(tracked), eq(3L), any());
+        assertThat(counters.available(tracked)).isEqualTo(3);
+    }
+
+    private static OrderItem item(UUID productId, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
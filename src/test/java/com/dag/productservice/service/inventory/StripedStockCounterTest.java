@@ -0,0 +1,80 @@
+package com.dag.productservice.service.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedStockCounterTest {
+
+    @Test
+    void tryAcquire_ShouldGatherUnitsFromAllStripes_WhenHomeStripeIsShort() {
+        // Given - 10 units over 8 stripes leaves at most 3 in any one stripe
+        StripedStockCounter counter = new StripedStockCounter(10, 8);
+
+        // When & Then
+        assertTrue(counter.tryAcquire(7));
+        assertEquals(3, counter.available());
+        assertFalse(counter.tryAcquire(4));
+        assertEquals(3, counter.available());
+        assertTrue(counter.tryAcquire(3));
+        assertEquals(0, counter.available());
+    }
+
+    @Test
+    void adjust_ShouldNotGoBelowZero() {
+        // Given
+        StripedStockCounter counter = new StripedStockCounter(5, 4);
+
+        // When
+        counter.adjust(-8);
+        counter.adjust(2);
+
+        // Then
+        assertEquals(2, counter.available());
+    }
+
+    @Test
+    void tryAcquire_ShouldNeverOversell_UnderConcurrentBuyersOfOneProduct() throws Exception {
+        // Given
+        int stock = 10_000;
+        int threads = 16;
+        StripedStockCounter counter = new StripedStockCounter(stock, 8);
+        AtomicLong sold = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            // When - every thread buys 1 to 3 units until it is refused
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int quantity = t % 3 + 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    while (counter.tryAcquire(quantity)) {
+                        sold.addAndGet(quantity);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+
+            // Then - refused buyers only stop once fewer than 3 units remain
+            assertEquals(stock, sold.get() + counter.available());
+            assertTrue(counter.available() < 3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
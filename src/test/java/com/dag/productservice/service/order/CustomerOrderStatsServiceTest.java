@@ -0,0 +1,206 @@
+package com.dag.productservice.service.order;
+
+import com.dag.productservice.dao.schema.CustomerOrderStatsRepository;
+import com.dag.productservice.dao.schema.OrderRepository;
+import com.dag.productservice.dto.CustomerOrderStatsDto;
+import com.dag.productservice.models.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs without a test transaction: the first-order row is created in its own transaction
+ * and the rebuild reads committed orders from worker threads
+ */
+@DataJpaTest(properties = {
+        "orders.customer-stats.rebuild.chunk-size=2",
+        "orders.customer-stats.rebuild.threads=2"
+})
+@Import(CustomerOrderStatsService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerOrderStatsServiceTest {
+
+    @Autowired
+    private CustomerOrderStatsService statsService;
+
+    @Autowired
+    private CustomerOrderStatsRepository statsRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<String> customerIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            orderRepository.deleteAll(orderRepository.findAll().stream()
+                    .filter(order -> customerIds.contains(order.getCustomerId()))
+                    .toList());
+            statsRepository.deleteAllById(customerIds);
+        });
+    }
+
+    @Test
+    void recordTransition_ShouldMatchRebuild_AfterCreatesAndStatusChanges() {
+        // Given - five customers so the rebuild spans several chunks
+        List<String> customers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            customers.add(newCustomerId());
+        }
+        for (String customerId : customers) {
+            Order delivered = placeOrder(customerId, BigDecimal.valueOf(30));
+            placeOrder(customerId, BigDecimal.valueOf(20));
+            Order cancelled = placeOrder(customerId, BigDecimal.valueOf(10));
+            changeStatus(delivered, Order.OrderStatus.SHIPPED);
+            changeStatus(delivered, Order.OrderStatus.DELIVERED);
+            changeStatus(cancelled, Order.OrderStatus.CANCELLED);
+        }
+
+        // When
+        List<CustomerOrderStatsDto> incremental = customers.stream().map(statsService::getStats).toList();
+        long rebuilt = statsService.rebuildAll();
+
+        // Then
+        assertThat(rebuilt).isGreaterThanOrEqualTo(customers.size());
+        for (int i = 0; i < customers.size(); i++) {
+            CustomerOrderStatsDto stats = incremental.get(i);
+            assertThat(stats.getOrderCount()).isEqualTo(3);
+            assertThat(stats.getLifetimeSpend()).isEqualByComparingTo("30");
+            assertThat(stats.getStatusCounts())
+                    .containsEntry(Order.OrderStatus.PENDING, 1L)
+                    .containsEntry(Order.OrderStatus.DELIVERED, 1L)
+                    .containsEntry(Order.OrderStatus.CANCELLED, 1L)
+                    .containsEntry(Order.OrderStatus.SHIPPED, 0L);
+
+            CustomerOrderStatsDto fromRebuild = statsService.getStats(customers.get(i));
+            assertThat(fromRebuild.getOrderCount()).isEqualTo(stats.getOrderCount());
+            assertThat(fromRebuild.getLifetimeSpend()).isEqualByComparingTo(stats.getLifetimeSpend());
+            assertThat(fromRebuild.getStatusCounts()).isEqualTo(stats.getStatusCounts());
+        }
+    }
+
+    @Test
+    void recordTransition_ShouldTakeBackSpend_WhenDeliveredOrderIsRefunded() {
+        // Given
+        String customerId = newCustomerId();
+        Order order = placeOrder(customerId, BigDecimal.valueOf(45));
+        changeStatus(order, Order.OrderStatus.DELIVERED);
+
+        // When
+        changeStatus(order, Order.OrderStatus.REFUNDED);
+
+        // Then
+        CustomerOrderStatsDto stats = statsService.getStats(customerId);
+        assertThat(stats.getOrderCount()).isEqualTo(1);
+        assertThat(stats.getLifetimeSpend()).isEqualByComparingTo("0");
+        assertThat(stats.getStatusCounts()).containsEntry(Order.OrderStatus.REFUNDED, 1L)
+                .containsEntry(Order.OrderStatus.DELIVERED, 0L);
+    }
+
+    @Test
+    void recordTransitions_ShouldFoldTransitionsOfOneCustomer_IntoTheSameTotals() {
+        // Given
+        String customerId = newCustomerId();
+        Order first = placeOrder(customerId, BigDecimal.valueOf(15));
+        Order second = placeOrder(customerId, BigDecimal.valueOf(25));
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> statsService.recordTransitions(List.of(
+                new CustomerOrderStatsService.Transition(first, Order.OrderStatus.PENDING, Order.OrderStatus.PROCESSING),
+                new CustomerOrderStatsService.Transition(second, Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED),
+                new CustomerOrderStatsService.Transition(first, Order.OrderStatus.PROCESSING, Order.OrderStatus.DELIVERED))));
+
+        // Then
+        CustomerOrderStatsDto stats = statsService.getStats(customerId);
+        assertThat(stats.getOrderCount()).isEqualTo(2);
+        assertThat(stats.getLifetimeSpend()).isEqualByComparingTo("15");
+        assertThat(stats.getStatusCounts())
+                .containsEntry(Order.OrderStatus.PENDING, 0L)
+                .containsEntry(Order.OrderStatus.PROCESSING, 0L)
+                .containsEntry(Order.OrderStatus.DELIVERED, 1L)
+                .containsEntry(Order.OrderStatus.CANCELLED, 1L);
+    }
+
+    @Test
+    void rebuildAll_ShouldCreateMissingRows_OnFirstBackfill() {
+        // Given - orders written before the read model existed, so the customer has no stats row
+        String customerId = newCustomerId();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Order order = new Order();
+            order.setOrderNumber("ORD-" + UUID.randomUUID());
+            order.setCustomerId(customerId);
+            order.setStatus(Order.OrderStatus.DELIVERED);
+            order.setTotalAmount(BigDecimal.valueOf(12));
+            order.setOrderDate(LocalDateTime.now());
+            orderRepository.save(order);
+        });
+        assertThat(statsRepository.existsById(customerId)).isFalse();
+
+        // When
+        statsService.rebuildAll();
+
+        // Then
+        CustomerOrderStatsDto stats = statsService.getStats(customerId);
+        assertThat(stats.getOrderCount()).isEqualTo(1);
+        assertThat(stats.getLifetimeSpend()).isEqualByComparingTo("12");
+    }
+
+    @Test
+    void getStats_ShouldReturnZeros_ForCustomerWithoutOrders() {
+        // When
+        CustomerOrderStatsDto stats = statsService.getStats("no-orders-" + UUID.randomUUID());
+
+        // Then
+        assertThat(stats.getOrderCount()).isZero();
+        assertThat(stats.getLifetimeSpend()).isEqualByComparingTo("0");
+        assertThat(stats.getLastOrderDate()).isNull();
+    }
+
+    private String newCustomerId() {
+        String customerId = "customer-" + UUID.randomUUID();
+        customerIds.add(customerId);
+        return customerId;
+    }
+
+    private Order placeOrder(String customerId, BigDecimal total) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Order order = new Order();
+            order.setOrderNumber("ORD-" + UUID.randomUUID());
+            order.setCustomerId(customerId);
+            order.setStatus(Order.OrderStatus.PENDING);
+            order.setTotalAmount(total);
+            order.setOrderDate(LocalDateTime.now());
+            Order saved = orderRepository.save(order);
+            statsService.recordTransition(saved, null, Order.OrderStatus.PENDING);
+            return saved;
+        });
+    }
+
+    private void changeStatus(Order order, Order.OrderStatus to) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Order current = orderRepository.findById(order.getId()).orElseThrow();
+            Order.OrderStatus from = current.getStatus();
+            current.setStatus(to);
+            orderRepository.save(current);
+            statsService.recordTransition(current, from, to);
+        });
+    }
+}
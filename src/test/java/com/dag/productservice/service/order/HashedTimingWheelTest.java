@@ -0,0 +1,77 @@
+package com.dag.productservice.service.order;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void advance_ShouldExpireTimeoutsOnlyOnceTheirDeadlinePassed() {
+        // Given - 100 ms ticks, 8 buckets
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, START);
+        wheel.schedule("a", START + 250);
+        wheel.schedule("b", START + 1_050);
+
+        // When & Then
+        assertTrue(wheel.advance(START + 200).isEmpty());
+        assertEquals(List.of("a"), items(wheel.advance(START + 300)));
+        // b shares a's bucket but is one revolution later
+        assertTrue(wheel.advance(START + 1_000).isEmpty());
+        assertEquals(List.of("b"), items(wheel.advance(START + 1_100)));
+    }
+
+    @Test
+    void advance_ShouldDropCancelledTimeouts() {
+        // Given
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, START);
+        HashedTimingWheel.Timeout<String> cancelled = wheel.schedule("a", START + 100);
+        wheel.schedule("b", START + 100);
+
+        // When
+        cancelled.cancel();
+
+        // Then
+        assertEquals(List.of("b"), items(wheel.advance(START + 500)));
+    }
+
+    @Test
+    void advance_ShouldExpireEverything_AfterAGapLongerThanOneRevolution() {
+        // Given
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(10, 4, START);
+        for (int i = 0; i < 100; i++) {
+            wheel.schedule(i, START + i * 7L);
+        }
+
+        // When - 690 ms is many revolutions of a 40 ms wheel
+        List<Integer> expired = items(wheel.advance(START + 700));
+
+        // Then - in deadline order
+        assertEquals(100, expired.size());
+        for (int i = 0; i < expired.size(); i++) {
+            assertEquals(i, expired.get(i));
+        }
+        assertTrue(wheel.advance(START + 10_000).isEmpty());
+    }
+
+    @Test
+    void schedule_ShouldExpireOnNextTick_WhenDeadlineIsInThePast() {
+        // Given
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, START);
+        wheel.advance(START + 5_000);
+
+        // When
+        wheel.schedule("late", START + 1_000);
+
+        // Then
+        assertEquals(List.of("late"), items(wheel.advance(START + 5_100)));
+    }
+
+    private static <T> List<T> items(List<HashedTimingWheel.Timeout<T>> timeouts) {
+        return timeouts.stream().map(HashedTimingWheel.Timeout::item).toList();
+    }
+}
@@ -0,0 +1,159 @@
+package com.dag.productservice.service.order;
+
+import com.dag.productservice.dto.OrderRequestDto;
+import com.dag.productservice.dto.OrderResponseDto;
+import com.dag.productservice.exception.IdempotencyKeyConflictException;
+import com.dag.productservice.exception.ProductNotFoundException;
+import com.dag.productservice.models.Order;
+import com.dag.productservice.service.idempotency.InMemoryIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IdempotentOrderServiceTest {
+
+    private OrderService orderService;
+    private IdempotentOrderService idempotentOrderService;
+    private OrderRequestDto request;
+
+    @BeforeEach
+    void setUp() {
+        orderService = mock(OrderService.class);
+        idempotentOrderService = new IdempotentOrderService(orderService, new InMemoryIdempotencyStore(1000),
+                new ObjectMapper().findAndRegisterModules(), Duration.ofHours(1), Duration.ofSeconds(30),
+                Duration.ofSeconds(5), Duration.ofMillis(10));
+        request = OrderRequestDto.builder()
+                .customerId("customer-123")
+                .items(List.of(OrderRequestDto.OrderItemRequestDto.builder()
+                        .productId(UUID.randomUUID().toString())
+                        .quantity(1)
+                        .build()))
+                .build();
+    }
+
+    @Test
+    void createOrder_ShouldReplayOriginalResponse_ForRetryWithSameKey() {
+        // Given
+        OrderResponseDto created = response("ORD-1");
+        when(orderService.createOrder(any())).thenReturn(created);
+        IdempotentOrderService.Result first = idempotentOrderService.createOrder("key-1", request);
+
+        // When
+        IdempotentOrderService.Result retry = idempotentOrderService.createOrder("key-1", request);
+
+        // Then
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.response()).isEqualTo(created);
+        verify(orderService, times(1)).createOrder(any());
+    }
+
+    @Test
+    void createOrder_ShouldCreateOnce_WhenDuplicatesArriveWhileFirstIsInFlight() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrder(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response("ORD-1");
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // When
+            Future<IdempotentOrderService.Result> first =
+                    executor.submit(() -> idempotentOrderService.createOrder("key-1", request));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            List<Future<IdempotentOrderService.Result>> duplicates = List.of(
+                    executor.submit(() -> idempotentOrderService.createOrder("key-1", request)),
+                    executor.submit(() -> idempotentOrderService.createOrder("key-1", request)));
+            release.countDown();
+
+            // Then
+            assertThat(first.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+            for (Future<IdempotentOrderService.Result> duplicate : duplicates) {
+                IdempotentOrderService.Result result = duplicate.get(5, TimeUnit.SECONDS);
+                assertThat(result.replayed()).isTrue();
+                assertThat(result.response().getOrderNumber()).isEqualTo("ORD-1");
+            }
+            verify(orderService, times(1)).createOrder(any());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void createOrder_ShouldReject_WhenKeyIsReusedWithDifferentBody() {
+        // Given
+        when(orderService.createOrder(any())).thenReturn(response("ORD-1"));
+        idempotentOrderService.createOrder("key-1", request);
+        request.getItems().get(0).setQuantity(2);
+
+        // When & Then
+        assertThatThrownBy(() -> idempotentOrderService.createOrder("key-1", request))
+                .isInstanceOf(IdempotencyKeyConflictException.class)
+                .satisfies(e -> assertThat(((IdempotencyKeyConflictException) e).isInFlight()).isFalse());
+        verify(orderService, times(1)).createOrder(any());
+    }
+
+    @Test
+    void createOrder_ShouldReleaseKey_WhenCreateFails() {
+        // Given
+        when(orderService.createOrder(any()))
+                .thenThrow(new ProductNotFoundException("Product not found"))
+                .thenReturn(response("ORD-2"));
+        assertThatThrownBy(() -> idempotentOrderService.createOrder("key-1", request))
+                .isInstanceOf(ProductNotFoundException.class);
+
+        // When
+        IdempotentOrderService.Result retry = idempotentOrderService.createOrder("key-1", request);
+
+        // Then
+        assertThat(retry.replayed()).isFalse();
+        assertThat(retry.response().getOrderNumber()).isEqualTo("ORD-2");
+        verify(orderService, times(2)).createOrder(any());
+    }
+
+    @Test
+    void createOrder_ShouldScopeKeysPerCustomer() {
+        // Given
+        when(orderService.createOrder(any())).thenReturn(response("ORD-1"), response("ORD-2"));
+        idempotentOrderService.createOrder("key-1", request);
+        request.setCustomerId("customer-456");
+
+        // When
+        IdempotentOrderService.Result other = idempotentOrderService.createOrder("key-1", request);
+
+        // Then
+        assertThat(other.replayed()).isFalse();
+        assertThat(other.response().getOrderNumber()).isEqualTo("ORD-2");
+    }
+
+    private OrderResponseDto response(String orderNumber) {
+        OrderResponseDto response = new OrderResponseDto();
+        response.setId(UUID.randomUUID().toString());
+        response.setOrderNumber(orderNumber);
+        response.setCustomerId("customer-123");
+        response.setStatus(Order.OrderStatus.PENDING);
+        response.setTotalAmount(new BigDecimal("100.00"));
+        response.setOrderDate(LocalDateTime.now().withNano(0));
+        return response;
+    }
+}
@@ -0,0 +1,111 @@
+package com.dag.productservice.service.order;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderNumberGeneratorTest {
+
+    @Test
+    void next_ShouldUsePrefixAndEmbedNodeId() {
+        // Given
+        OrderNumberGenerator generator = new OrderNumberGenerator(42);
+
+        // When
+        String orderNumber = generator.next();
+
+        // Then
+        assertTrue(orderNumber.startsWith("ORD-"));
+        long id = Long.parseLong(orderNumber.substring(4));
+        assertEquals(42, (id >>> OrderNumberGenerator.SEQUENCE_BITS) & OrderNumberGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void constructor_ShouldRejectNodeIdOutOfRange() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new OrderNumberGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new OrderNumberGenerator(-1));
+    }
+
+    @Test
+    void nextTimestampAndSequence_ShouldKeepIncreasing_WhenClockStepsBackwards() {
+        // Given
+        OrderNumberGenerator generator = new OrderNumberGenerator(1);
+        long first = generator.nextTimestampAndSequence(10_000);
+
+        // When
+        long afterRegression = generator.nextTimestampAndSequence(9_000);
+
+        // Then
+        assertTrue(afterRegression > first);
+        assertEquals(1, generator.getClockRegressionCount());
+    }
+
+    @Test
+    void nextTimestampAndSequence_ShouldCarryIntoTimestamp_WhenSequenceOverflows() {
+        // Given
+        OrderNumberGenerator generator = new OrderNumberGenerator(1);
+        long last = generator.nextTimestampAndSequence(10_000);
+
+        // When - more numbers than the 12-bit sequence holds within the same millisecond
+        for (int i = 0; i < 5000; i++) {
+            long next = generator.nextTimestampAndSequence(10_000);
+
+            // Then
+            assertTrue(next > last);
+            last = next;
+        }
+        assertTrue((last >>> OrderNumberGenerator.SEQUENCE_BITS) > 10_000);
+    }
+
+    @Test
+    void next_ShouldNeverCollide_UnderConcurrentLoadAcrossNodes() throws Exception {
+        // Given - two instances sharing the order_number index, several request threads each
+        OrderNumberGenerator nodeA = new OrderNumberGenerator(1);
+        OrderNumberGenerator nodeB = new OrderNumberGenerator(2);
+        int threads = 16;
+        int perThread = 25_000;
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            // When
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                OrderNumberGenerator generator = t % 2 == 0 ? nodeA : nodeB;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    long previous = -1;
+                    for (int i = 0; i < perThread; i++) {
+                        long id = generator.nextId();
+                        if (id <= previous || !issued.add(OrderNumberGenerator.PREFIX + id)) {
+                            return false;
+                        }
+                        previous = id;
+                    }
+                    return true;
+                }));
+            }
+            start.countDown();
+
+            // Then - every number is unique and each thread sees increasing IDs
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(60, TimeUnit.SECONDS));
+            }
+            assertEquals(threads * perThread, issued.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.dag.productservice.service.order;
+
+import com.dag.productservice.dao.schema.OrderRepository;
+import com.dag.productservice.models.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PendingOrderExpiryJobTest {
+
+    private static final Duration TTL = Duration.ofMinutes(15);
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private PendingOrderExpiry pendingOrderExpiry;
+    private PendingOrderExpiryJob job;
+
+    @BeforeEach
+    void setUp() {
+        pendingOrderExpiry = new PendingOrderExpiry(true, TTL, Duration.ofSeconds(1), 8);
+        job = new PendingOrderExpiryJob(pendingOrderExpiry, orderService, orderRepository,
+                Duration.ofSeconds(1), 100, Duration.ofMinutes(1), Duration.ofMinutes(5));
+    }
+
+    @Test
+    void tick_ShouldRescheduleOrdersSkippedWhileStillPending() {
+        // Given
+        UUID cancelledId = UUID.randomUUID();
+        UUID skippedId = UUID.randomUUID();
+        LocalDateTime overdue = LocalDateTime.now().minus(TTL).minusMinutes(1);
+        pendingOrderExpiry.schedule(cancelledId, overdue);
+        pendingOrderExpiry.schedule(skippedId, overdue);
+        when(orderService.expirePendingOrders(anyCollection(), any(LocalDateTime.class))).thenReturn(1);
+        List<Object[]> stillPending = List.<Object[]>of(new Object[]{skippedId, LocalDateTime.now()});
+        when(orderRepository.findIdAndOrderDateByIdInAndStatus(anyCollection(), eq(Order.OrderStatus.PENDING)))
+                .thenReturn(stillPending);
+
+        // When
+        job.tick();
+
+        // Then
+        assertEquals(1, pendingOrderExpiry.size());
+        assertTrue(pendingOrderExpiry.expire(System.currentTimeMillis()).isEmpty());
+    }
+
+    @Test
+    void tick_ShouldWidenCutoffBySecondForRoundedOrderDates() {
+        // Given
+        pendingOrderExpiry.schedule(UUID.randomUUID(), LocalDateTime.now().minus(TTL).minusMinutes(1));
+        when(orderService.expirePendingOrders(anyCollection(), any(LocalDateTime.class))).thenReturn(1);
+        LocalDateTime unwidened = LocalDateTime.now().minus(TTL);
+
+        // When
+        job.tick();
+
+        // Then
+        verify(orderService).expirePendingOrders(anyCollection(),
+                argThat(placedBefore -> placedBefore.isAfter(unwidened.plusNanos(500_000_000))));
+        verifyNoInteractions(orderRepository);
+        assertEquals(0, pendingOrderExpiry.size());
+    }
+
+    @Test
+    void resync_ShouldScheduleOrdersPlacedOnOtherInstances() {
+        // Given
+        List<Object[]> pending = List.<Object[]>of(new Object[]{UUID.randomUUID(), LocalDateTime.now()});
+        when(orderRepository.findIdAndOrderDateByStatus(Order.OrderStatus.PENDING)).thenReturn(pending);
+
+        // When
+        job.resync();
+
+        // Then
+        assertEquals(1, pendingOrderExpiry.size());
+    }
+}
@@ -0,0 +1,150 @@
+package com.dag.productservice.service.outbox;
+
+import com.dag.productservice.dao.schema.OutboxEventRepository;
+import com.dag.productservice.models.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxEventHandler handler;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxEventRepository, List.of(handler), transactionManager,
+                BATCH_SIZE, 10, Duration.ofDays(7), MAX_ATTEMPTS);
+        lenient().when(handler.supports(any())).thenReturn(true);
+    }
+
+    @Test
+    void relayBatch_ShouldDispatchInSequenceOrder_AndMarkAllPublishedInOneUpdate() throws Exception {
+        // Given
+        OutboxEvent first = event(1L, "p1", "PRODUCT_CREATED");
+        OutboxEvent second = event(2L, "p2", "PRODUCT_CREATED");
+        OutboxEvent third = event(3L, "p1", "PRODUCT_UPDATED");
+        when(outboxEventRepository.lockUnpublished(any(Pageable.class))).thenReturn(List.of(first, second, third));
+
+        // When
+        boolean more = relay.relayBatch();
+
+        // Then - a full, clean batch means more events may be waiting
+        assertTrue(more);
+        InOrder inOrder = inOrder(handler);
+        inOrder.verify(handler).handle(first);
+        inOrder.verify(handler).handle(second);
+        inOrder.verify(handler).handle(third);
+        verify(outboxEventRepository, times(1)).markPublished(eq(List.of(1L, 2L, 3L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void relayBatch_ShouldHoldBackLaterEventsOfFailedAggregate_AndRelayOthers() throws Exception {
+        // Given
+        OutboxEvent failing = event(1L, "p1", "PRODUCT_CREATED");
+        OutboxEvent other = event(2L, "p2", "PRODUCT_CREATED");
+        OutboxEvent later = event(3L, "p1", "PRODUCT_DELETED");
+        when(outboxEventRepository.lockUnpublished(any(Pageable.class))).thenReturn(List.of(failing, other, later));
+        doThrow(new IllegalStateException("Redis unavailable")).when(handler).handle(failing);
+
+        // When
+        boolean more = relay.relayBatch();
+
+        // Then
+        assertFalse(more);
+        verify(handler, never()).handle(later);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> published = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxEventRepository).markPublished(published.capture(), any(LocalDateTime.class));
+        assertEquals(List.of(2L), List.copyOf(published.getValue()));
+        assertEquals(1, failing.getAttempts());
+        assertEquals("Redis unavailable", failing.getLastError());
+        assertEquals(0, later.getAttempts());
+        assertNull(failing.getParkedOn());
+    }
+
+    @Test
+    void relayBatch_ShouldParkEvent_WhenItFailsMaxAttemptsTimes() throws Exception {
+        // Given
+        OutboxEvent failing = event(1L, "p1", "PRODUCT_CREATED");
+        failing.setAttempts(MAX_ATTEMPTS - 1);
+        when(outboxEventRepository.lockUnpublished(any(Pageable.class))).thenReturn(List.of(failing));
+        doThrow(new IllegalArgumentException("Malformed payload")).when(handler).handle(failing);
+
+        // When
+        relay.relayBatch();
+
+        // Then
+        assertEquals(MAX_ATTEMPTS, failing.getAttempts());
+        assertNotNull(failing.getParkedOn());
+        assertEquals("Malformed payload", failing.getLastError());
+        verify(outboxEventRepository, never()).markPublished(any(), any());
+    }
+
+    @Test
+    void relayBatch_ShouldSkipHandlersThatDoNotSupportTheAggregate() throws Exception {
+        // Given
+        OutboxEvent orderEvent = OutboxEvent.builder().id(1L).aggregateType(OutboxService.ORDER)
+                .aggregateId("o1").eventType("ORDER_CREATED").build();
+        when(handler.supports(OutboxService.ORDER)).thenReturn(false);
+        when(outboxEventRepository.lockUnpublished(any(Pageable.class))).thenReturn(List.of(orderEvent));
+
+        // When
+        boolean more = relay.relayBatch();
+
+        // Then
+        assertFalse(more);
+        verify(handler, never()).handle(any());
+        verify(outboxEventRepository).markPublished(eq(List.of(1L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void drain_ShouldStop_WhenOutboxIsEmpty() {
+        // Given
+        when(outboxEventRepository.lockUnpublished(any(Pageable.class))).thenReturn(List.of());
+
+        // When
+        relay.drain();
+
+        // Then
+        verify(outboxEventRepository, times(1)).lockUnpublished(any(Pageable.class));
+        verify(outboxEventRepository, never()).markPublished(any(), any());
+    }
+
+    private static OutboxEvent event(long id, String aggregateId, String eventType) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType(OutboxService.PRODUCT)
+                .aggregateId(aggregateId)
+                .eventType(eventType)
+                .createdOn(LocalDateTime.now())
+                .build();
+    }
+}
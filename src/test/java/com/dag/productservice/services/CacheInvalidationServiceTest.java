@@ -1,6 +1,8 @@
 package com.dag.productservice.services;
 
 import com.dag.productservice.service.cache.CacheInvalidationService;
+import com.dag.productservice.service.cache.ProductCatalogCache;
+import com.dag.productservice.service.product.CachedLocalProductService;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +29,12 @@ class CacheInvalidationServiceTest {
     @Mock
     private Cache productsCache;
 
+    @Mock
+    private Cache missingProductsCache;
+
+    @Mock
+    private ProductCatalogCache productCatalogCache;
+
     @InjectMocks
     private CacheInvalidationService cacheInvalidationService;
 
@@ -34,6 +42,7 @@ class CacheInvalidationServiceTest {
     void onMessage_ShouldInvalidateCache_WhenProductCreatedEvent() {
         // Given
         when(cacheManager.getCache("products")).thenReturn(productsCache);
+        when(cacheManager.getCache(CachedLocalProductService.MISSING_PRODUCTS_CACHE)).thenReturn(missingProductsCache);
         String productId = "test-product-id";
         String messageBody = "PRODUCT_CREATED:" + productId;
         Message message = mock(Message.class);
@@ -46,7 +55,8 @@ class CacheInvalidationServiceTest {
 
         // Then
         verify(productsCache, times(1)).evict(productId);
-        verify(productsCache, times(1)).evict("all");
+        verify(productsCache, never()).evict("all");
+        verify(missingProductsCache, times(1)).evict(productId);
     }
 
     @Test
@@ -65,7 +75,7 @@ class CacheInvalidationServiceTest {
 
         // Then
         verify(productsCache, times(1)).evict(productId);
-        verify(productsCache, times(1)).evict("all");
+        verify(productsCache, never()).evict("all");
     }
 
     @Test
@@ -84,7 +94,7 @@ class CacheInvalidationServiceTest {
 
         // Then
         verify(productsCache, times(1)).evict(productId);
-        verify(productsCache, times(1)).evict("all");
+        verify(productsCache, never()).evict("all");
     }
 
     @Test
@@ -121,7 +131,7 @@ class CacheInvalidationServiceTest {
     }
 
     @Test
-    void invalidateProductCache_ShouldEvictSpecificProductAndAllCache() {
+    void invalidateProductCache_ShouldEvictSpecificProductOnly() {
         // Given
         when(cacheManager.getCache("products")).thenReturn(productsCache);
         String productId = "test-product-id";
@@ -131,7 +141,7 @@ class CacheInvalidationServiceTest {
 
         // Then
         verify(productsCache, times(1)).evict(productId);
-        verify(productsCache, times(1)).evict("all");
+        verify(productsCache, never()).evict("all");
     }
 
     @Test
@@ -144,6 +154,7 @@ class CacheInvalidationServiceTest {
 
         // Then
         verify(productsCache, times(1)).clear();
+        verify(productCatalogCache, times(1)).invalidate();
     }
 
     @Test
@@ -0,0 +1,60 @@
+package com.dag.productservice.services;
+
+import com.dag.productservice.service.cache.CacheLoadLease;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheLoadLeaseTest {
+
+    private static final String LEASE_KEY = "lease:products::product-1";
+
+    private StringRedisTemplate redisTemplate;
+    private CacheLoadLease loadLease;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        loadLease = new CacheLoadLease(redisTemplate, Duration.ofSeconds(5), Duration.ofMillis(1));
+    }
+
+    @Test
+    void awaitValue_ShouldStop_WhenLeaseIsReleasedWithoutAValue() throws InterruptedException {
+        // Given - the holder's loader failed and released the lease
+        when(redisTemplate.hasKey(LEASE_KEY)).thenReturn(true, false);
+        AtomicInteger probes = new AtomicInteger();
+
+        // When
+        long start = System.nanoTime();
+        Object value = loadLease.awaitValue("products", "product-1", () -> {
+            probes.incrementAndGet();
+            return null;
+        });
+
+        // Then
+        assertNull(value);
+        assertEquals(3, probes.get());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    void awaitValue_ShouldReturnValuePopulatedJustBeforeRelease() throws InterruptedException {
+        // Given
+        when(redisTemplate.hasKey(LEASE_KEY)).thenReturn(false);
+        AtomicInteger probes = new AtomicInteger();
+
+        // When
+        Object value = loadLease.awaitValue("products", "product-1",
+                () -> probes.incrementAndGet() > 1 ? "value-1" : null);
+
+        // Then
+        assertEquals("value-1", value);
+    }
+}
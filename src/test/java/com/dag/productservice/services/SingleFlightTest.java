@@ -0,0 +1,75 @@
+package com.dag.productservice.services;
+
+import com.dag.productservice.service.cache.SingleFlight;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void execute_ShouldRunLoaderOnce_ForConcurrentCallersOfSameKey() throws Exception {
+        // Given
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            // When
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.execute("product-1", () -> {
+                loaderCalls.incrementAndGet();
+                loaderStarted.countDown();
+                releaseLoader.await(5, TimeUnit.SECONDS);
+                return "value-1";
+            })));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("product-1", () -> {
+                    loaderCalls.incrementAndGet();
+                    return "unexpected";
+                })));
+            }
+            while (singleFlight.getCoalescedCount() < callers - 1) {
+                Thread.sleep(10);
+            }
+            releaseLoader.countDown();
+
+            // Then
+            for (Future<String> result : results) {
+                assertEquals("value-1", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loaderCalls.get());
+            assertEquals(callers - 1, singleFlight.getCoalescedCount());
+            assertEquals(0, singleFlight.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_ShouldPropagateLoaderFailure_AndAllowRetry() throws Exception {
+        // Given
+        SingleFlight singleFlight = new SingleFlight();
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () ->
+            singleFlight.execute("product-1", () -> {
+                throw new IllegalStateException("boom");
+            }));
+        assertEquals("value-1", singleFlight.execute("product-1", () -> "value-1"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.dag.productservice.services;
+
+import com.dag.productservice.service.cache.RefreshAheadPolicy;
+import com.dag.productservice.service.cache.TwoTierCache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TwoTierCacheTest {
+
+    private Cache remoteCache;
+    private TwoTierCache twoTierCache;
+
+    @BeforeEach
+    void setUp() {
+        remoteCache = spy(new ConcurrentMapCache("products"));
+        twoTierCache = new TwoTierCache(remoteCache, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void get_ShouldServeFromLocalTier_AfterFirstRemoteHit() {
+        // Given
+        remoteCache.put("product-1", "value-1");
+
+        // When
+        Cache.ValueWrapper first = twoTierCache.get("product-1");
+        Cache.ValueWrapper second = twoTierCache.get("product-1");
+
+        // Then
+        assertNotNull(first);
+        assertEquals("value-1", second.get());
+        verify(remoteCache, times(1)).get("product-1");
+        assertEquals(1, twoTierCache.getLocalStats().hitCount());
+        assertEquals(1, twoTierCache.getLocalStats().missCount());
+    }
+
+    @Test
+    void put_ShouldWriteBothTiers() {
+        // When
+        twoTierCache.put("product-1", "value-1");
+
+        // Then
+        assertEquals("value-1", remoteCache.get("product-1").get());
+        assertEquals(1, twoTierCache.getLocalSize());
+    }
+
+    @Test
+    void evict_ShouldRemoveFromBothTiers() {
+        // Given
+        twoTierCache.put("product-1", "value-1");
+
+        // When
+        twoTierCache.evict("product-1");
+
+        // Then
+        assertNull(remoteCache.get("product-1"));
+        assertNull(twoTierCache.get("product-1"));
+    }
+
+    @Test
+    void evictLocal_ShouldKeepRemoteEntry() {
+        // Given
+        twoTierCache.put("product-1", "value-1");
+
+        // When
+        twoTierCache.evictLocal("product-1");
+
+        // Then
+        assertEquals(0, twoTierCache.getLocalSize());
+        assertEquals("value-1", remoteCache.get("product-1").get());
+    }
+
+    @Test
+    void get_WithValueLoader_ShouldPopulateBothTiersOnMiss() {
+        // When
+        String value = twoTierCache.get("product-1", () -> "loaded");
+
+        // Then
+        assertEquals("loaded", value);
+        assertEquals("loaded", remoteCache.get("product-1").get());
+        assertEquals("loaded", twoTierCache.get("product-1", String.class));
+    }
+
+    @Test
+    void get_WithValueLoader_ShouldServeCurrentValueAndRefreshAhead_WhenEntryIsNearExpiry() {
+        // Given - a zero TTL makes every read eligible for refresh; the executor runs inline
+        RefreshAheadPolicy policy = new RefreshAheadPolicy(1.0, Duration.ZERO, Duration.ofMillis(1));
+        TwoTierCache refreshingCache = new TwoTierCache(remoteCache, 100, Duration.ofMinutes(1),
+                null, policy, Runnable::run);
+        refreshingCache.get("product-1", () -> "value-1");
+
+        // When
+        String served = refreshingCache.get("product-1", () -> "value-2");
+
+        // Then
+        assertEquals("value-1", served);
+        assertEquals(1, refreshingCache.getRefreshAheadCount());
+        assertEquals("value-2", refreshingCache.get("product-1", String.class));
+    }
+
+    @Test
+    void putLocal_ShouldUnwrapRefreshAheadEnvelope_WrittenByBulkWriter() {
+        // Given
+        RefreshAheadPolicy policy = new RefreshAheadPolicy(1.0, Duration.ofHours(1), Duration.ofMillis(1));
+        TwoTierCache refreshingCache = new TwoTierCache(remoteCache, 100, Duration.ofMinutes(1),
+                null, policy, Runnable::run);
+        Object remoteValue = refreshingCache.toRemoteValue("value-1", 5);
+
+        // When
+        refreshingCache.putLocal("product-1", remoteValue);
+
+        // Then
+        assertEquals("value-1", refreshingCache.getLocal("product-1").get());
+        assertNull(remoteCache.get("product-1"));
+    }
+}
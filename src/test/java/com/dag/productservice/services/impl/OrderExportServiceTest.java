@@ -0,0 +1,73 @@
+package com.dag.productservice.services.impl;
+
+import com.dag.productservice.dao.schema.OrderRepository;
+import com.dag.productservice.models.Order;
+import com.dag.productservice.service.order.OrderExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private OrderExportService orderExportService;
+
+    @BeforeEach
+    void setUp() {
+        orderExportService = new OrderExportService(orderRepository, entityManager,
+                transactionManager, objectMapper, 2);
+    }
+
+    @Test
+    void exportNdjson_ShouldWriteOrderHeadersForRequestedStatus_WithoutItems() throws Exception {
+        // Given
+        when(orderRepository.streamByStatus(Order.OrderStatus.DELIVERED)).thenReturn(Stream.of(order(0), order(1)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = orderExportService.exportNdjson(Order.OrderStatus.DELIVERED, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("ORD-0", first.get("orderNumber").asText());
+        assertTrue(first.get("items").isNull());
+        verify(orderRepository, times(1)).streamByStatus(Order.OrderStatus.DELIVERED);
+    }
+
+    private Order order(int index) {
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setOrderNumber("ORD-" + index);
+        order.setStatus(Order.OrderStatus.DELIVERED);
+        order.setTotalAmount(BigDecimal.TEN);
+        return order;
+    }
+}
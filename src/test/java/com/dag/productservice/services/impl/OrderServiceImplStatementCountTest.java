@@ -0,0 +1,229 @@
+package com.dag.productservice.services.impl;
+
+import com.dag.productservice.dto.OrderRequestDto;
+import com.dag.productservice.dto.OrderResponseDto;
+import com.dag.productservice.models.Category;
+import com.dag.productservice.models.CustomerOrderStats;
+import com.dag.productservice.models.Order;
+import com.dag.productservice.models.OrderItem;
+import com.dag.productservice.models.OrderStatusHistory;
+import com.dag.productservice.models.Price;
+import com.dag.productservice.models.Product;
+import com.dag.productservice.service.inventory.InventoryService;
+import com.dag.productservice.service.inventory.LocalStockCounterStore;
+import com.dag.productservice.service.order.CustomerOrderStatsService;
+import com.dag.productservice.service.order.OrderArchive;
+import com.dag.productservice.service.order.OrderNumberGenerator;
+import com.dag.productservice.service.order.OrderServiceImpl;
+import com.dag.productservice.service.order.PendingOrderExpiry;
+import com.dag.productservice.service.outbox.OutboxService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement counts of order writes and reads against H2 with the production batching settings
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true"
+})
+@Import({OrderServiceImpl.class, OrderNumberGenerator.class, OutboxService.class, CustomerOrderStatsService.class,
+        InventoryService.class, LocalStockCounterStore.class, PendingOrderExpiry.class, OrderArchive.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class OrderServiceImplStatementCountTest {
+
+    private static final int LINE_ITEMS = 50;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderServiceImpl orderService;
+
+    private Statistics statistics;
+    private final List<Product> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setName("Books");
+        entityManager.persist(category);
+
+        for (int i = 0; i < LINE_ITEMS; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setCategory(category);
+            product.setPrice(new Price("USD", 10.0 + i));
+            entityManager.persist(product);
+            products.add(product);
+        }
+        entityManager.persist(CustomerOrderStats.builder().customerId("customer-123").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void createOrder_ShouldUseOneSelectAndOneBatchPerTable_ForFiftyLineItems() {
+        // Given
+        List<OrderRequestDto.OrderItemRequestDto> items = products.stream()
+                .map(product -> OrderRequestDto.OrderItemRequestDto.builder()
+                        .productId(product.getId().toString())
+                        .quantity(2)
+                        .build())
+                .toList();
+        OrderRequestDto request = OrderRequestDto.builder()
+                .customerId("customer-123")
+                .items(items)
+                .build();
+
+        // When
+        OrderResponseDto order = orderService.createOrder(request);
+        entityManager.flush();
+
+        // Then - products select, the product_stock select that loads the stock counters on first use,
+        // one insert batch each for orders, order_items and order_status_history, the single outbox insert
+        // and the relative update of the customer's stats row
+        System.out.printf("createOrder with %d line items: %d statements, %d entity inserts%n",
+                LINE_ITEMS, statistics.getPrepareStatementCount(), statistics.getEntityInsertCount());
+        assertThat(order.getItems()).hasSize(LINE_ITEMS);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(LINE_ITEMS + 1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(LINE_ITEMS + 3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(7);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 10})
+    void getCustomerOrders_ShouldUseFourStatements_WhateverThePageSize(int pageSize) {
+        // Given
+        for (int i = 0; i < 12; i++) {
+            persistOrder("customer-123", 3);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        Page<OrderResponseDto> page = orderService.getCustomerOrders("customer-123", PageRequest.of(0, pageSize));
+
+        // Then - orders page, count, then one query each for items and status history; the catalog is not read
+        assertThat(page.getContent()).hasSize(pageSize);
+        assertThat(page.getContent()).allSatisfy(order -> {
+            assertThat(order.getItems()).hasSize(3);
+            assertThat(order.getItems()).allSatisfy(item -> assertThat(item.getProductName()).isNotNull());
+            assertThat(order.getStatusHistory()).hasSize(2);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityStatistics(Product.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void getOrderById_ShouldUseTwoStatements() {
+        // Given
+        Order order = persistOrder("customer-123", 5);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        OrderResponseDto response = orderService.getOrderById(order.getId());
+
+        // Then - order with items, then status history
+        assertThat(response.getItems()).hasSize(5);
+        assertThat(response.getStatusHistory()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityStatistics(Product.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void archiveOrders_ShouldUseSevenStatementsPerChunk_AndServeArchivedOrdersById() {
+        // Given
+        LocalDateTime twoYearsAgo = LocalDateTime.now().minusYears(2);
+        List<Order> old = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            old.add(persistOrder("customer-123", 3, Order.OrderStatus.DELIVERED, twoYearsAgo));
+        }
+        Order recent = persistOrder("customer-123", 3, Order.OrderStatus.DELIVERED, LocalDateTime.now());
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        int archived = orderService.archiveOrders(Order.OrderStatus.DELIVERED, LocalDateTime.now().minusYears(1), 10);
+
+        // Then - locked chunk, items, status history, one archive insert batch and one delete per hot table
+        assertThat(archived).isEqualTo(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(7);
+
+        entityManager.clear();
+        assertThat(entityManager.find(Order.class, old.get(0).getId())).isNull();
+        OrderResponseDto fromArchive = orderService.getOrderById(old.get(0).getId());
+        assertThat(fromArchive.getOrderNumber()).isEqualTo(old.get(0).getOrderNumber());
+        assertThat(fromArchive.getItems()).hasSize(3);
+        assertThat(fromArchive.getStatusHistory()).hasSize(2);
+        assertThat(orderService.getOrderByOrderNumber(old.get(1).getOrderNumber()).getId())
+                .isEqualTo(old.get(1).getId().toString());
+        assertThat(entityManager.find(Order.class, recent.getId())).isNotNull();
+    }
+
+    private Order persistOrder(String customerId, int itemCount) {
+        return persistOrder(customerId, itemCount, Order.OrderStatus.CONFIRMED, LocalDateTime.now());
+    }
+
+    private Order persistOrder(String customerId, int itemCount, Order.OrderStatus status, LocalDateTime orderDate) {
+        Order order = new Order();
+        order.setOrderNumber("ORD-" + UUID.randomUUID());
+        order.setCustomerId(customerId);
+        order.setStatus(status);
+        order.setTotalAmount(BigDecimal.TEN);
+        order.setOrderDate(orderDate);
+        entityManager.persist(order);
+
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            Product product = entityManager.find(Product.class, products.get(i).getId());
+            item.setProduct(product);
+            item.setProductName(product.getName());
+            item.setProductTitle(product.getTitle());
+            item.setCurrency(product.getPrice().getCurrency());
+            item.setQuantity(1);
+            item.setUnitPrice(BigDecimal.ONE);
+            item.setTotalPrice(BigDecimal.ONE);
+            entityManager.persist(item);
+        }
+        for (Order.OrderStatus status : List.of(Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED)) {
+            OrderStatusHistory history = new OrderStatusHistory();
+            history.setOrder(order);
+            history.setNewStatus(status.name());
+            history.setChangedOn(LocalDateTime.now());
+            entityManager.persist(history);
+        }
+        return order;
+    }
+}
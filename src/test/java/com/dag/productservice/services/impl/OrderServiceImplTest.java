@@ -1,15 +1,27 @@
 package com.dag.productservice.services.impl;
 
+import com.dag.productservice.service.inventory.InventoryService;
+import com.dag.productservice.service.order.CustomerOrderStatsService;
+import com.dag.productservice.service.order.OrderArchive;
+import com.dag.productservice.service.order.OrderNumberGenerator;
 import com.dag.productservice.service.order.OrderServiceImpl;
+import com.dag.productservice.service.order.PendingOrderExpiry;
+import com.dag.productservice.service.outbox.OutboxService;
 
 import com.dag.productservice.dao.schema.OrderRepository;
 import com.dag.productservice.dao.schema.OrderItemRepository;
 import com.dag.productservice.dao.schema.OrderStatusHistoryRepository;
 import com.dag.productservice.dao.schema.LocalProductRepository;
+import com.dag.productservice.dto.BulkOrderStatusUpdateRequestDto;
+import com.dag.productservice.dto.BulkOrderStatusUpdateResultDto;
+import com.dag.productservice.dto.OrderPageCursor;
+import com.dag.productservice.dto.OrderPageDto;
 import com.dag.productservice.dto.OrderRequestDto;
 import com.dag.productservice.dto.OrderResponseDto;
 import com.dag.productservice.dto.OrderStatusUpdateRequestDto;
+import com.dag.productservice.dto.OrderSummaryDto;
 import com.dag.productservice.exception.OrderNotFoundException;
+import com.dag.productservice.exception.OrderUpdateConflictException;
 import com.dag.productservice.exception.ProductNotFoundException;
 import com.dag.productservice.models.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +34,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -47,6 +61,27 @@ class OrderServiceImplTest {
     @Mock
     private LocalProductRepository productRepository;
 
+    @Mock
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private CustomerOrderStatsService customerOrderStatsService;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private PendingOrderExpiry pendingOrderExpiry;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private OrderArchive orderArchive;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -97,7 +132,7 @@ class OrderServiceImplTest {
     @Test
     void createOrder_ShouldCreateOrderSuccessfully() {
         // Given
-        when(productRepository.findById(any(UUID.class))).thenReturn(Optional.of(testProduct));
+        when(productRepository.findAllByIdWithCategory(any())).thenReturn(List.of(testProduct));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
         when(orderItemRepository.saveAll(any())).thenReturn(Arrays.asList());
 
@@ -114,12 +149,36 @@ class OrderServiceImplTest {
         verify(orderRepository, times(1)).save(any(Order.class));
         verify(orderItemRepository, times(1)).saveAll(any());
         verify(statusHistoryRepository, times(1)).save(any(OrderStatusHistory.class));
+        verify(outboxService, times(1)).append(eq(OutboxService.ORDER), eq(orderId.toString()),
+                eq("ORDER_CREATED"), any());
+        verify(customerOrderStatsService, times(1)).recordTransition(testOrder, null, Order.OrderStatus.PENDING);
+        verify(pendingOrderExpiry, times(1)).schedule(orderId, testOrder.getOrderDate());
+    }
+
+    @Test
+    void createOrder_ShouldSnapshotProductOntoItems() {
+        // Given
+        testProduct.setTitle("Test Title");
+        when(productRepository.findAllByIdWithCategory(any())).thenReturn(List.of(testProduct));
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+
+        // When
+        orderService.createOrder(testOrderRequest);
+
+        // Then
+        verify(orderItemRepository).saveAll(argThat((Iterable<OrderItem> items) -> {
+            OrderItem item = items.iterator().next();
+            return testProduct.getId().equals(item.getProductId())
+                    && "Test Product".equals(item.getProductName())
+                    && "Test Title".equals(item.getProductTitle())
+                    && "USD".equals(item.getCurrency());
+        }));
     }
 
     @Test
     void createOrder_WithNonExistentProduct_ShouldThrowException() {
         // Given
-        when(productRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(productRepository.findAllByIdWithCategory(any())).thenReturn(List.of());
 
         // When & Then
         assertThatThrownBy(() -> orderService.createOrder(testOrderRequest))
@@ -129,10 +188,39 @@ class OrderServiceImplTest {
         verify(orderRepository, never()).save(any(Order.class));
     }
 
+    @Test
+    void createOrder_WithSeveralNonExistentProducts_ShouldReportAllMissingIdsAtOnce() {
+        // Given
+        String missingId = UUID.randomUUID().toString();
+        OrderRequestDto request = OrderRequestDto.builder()
+                .customerId("customer-123")
+                .items(Arrays.asList(
+                        OrderRequestDto.OrderItemRequestDto.builder()
+                                .productId(testProduct.getId().toString())
+                                .quantity(1)
+                                .build(),
+                        OrderRequestDto.OrderItemRequestDto.builder()
+                                .productId(missingId)
+                                .quantity(1)
+                                .build()
+                ))
+                .build();
+        when(productRepository.findAllByIdWithCategory(any())).thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.createOrder(request))
+                .isInstanceOf(ProductNotFoundException.class)
+                .hasMessageContaining(testProduct.getId().toString())
+                .hasMessageContaining(missingId);
+
+        verify(productRepository, times(1)).findAllByIdWithCategory(any());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     @Test
     void getOrderById_ShouldReturnOrder() {
         // Given
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findDetailById(orderId)).thenReturn(Optional.of(testOrder));
 
         // When
         OrderResponseDto result = orderService.getOrderById(orderId);
@@ -142,26 +230,44 @@ class OrderServiceImplTest {
         assertThat(result.getId()).isEqualTo(orderId.toString());
         assertThat(result.getOrderNumber()).isEqualTo("ORD-001");
 
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findDetailById(orderId);
     }
 
     @Test
     void getOrderById_WithNonExistentOrder_ShouldThrowException() {
         // Given
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findDetailById(orderId)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> orderService.getOrderById(orderId))
                 .isInstanceOf(OrderNotFoundException.class)
                 .hasMessageContaining("Order not found");
 
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findDetailById(orderId);
+    }
+
+    @Test
+    void getOrderById_ShouldFallBackToArchive_WhenOrderIsNotInHotTables() {
+        // Given
+        OrderResponseDto archived = OrderResponseDto.builder()
+                .id(orderId.toString())
+                .orderNumber("ORD-001")
+                .status(Order.OrderStatus.DELIVERED)
+                .build();
+        when(orderRepository.findDetailById(orderId)).thenReturn(Optional.empty());
+        when(orderArchive.findById(orderId)).thenReturn(Optional.of(archived));
+
+        // When
+        OrderResponseDto result = orderService.getOrderById(orderId);
+
+        // Then
+        assertThat(result).isSameAs(archived);
     }
 
     @Test
     void getOrderByOrderNumber_ShouldReturnOrder() {
         // Given
-        when(orderRepository.findByOrderNumber("ORD-001")).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findDetailByOrderNumber("ORD-001")).thenReturn(Optional.of(testOrder));
 
         // When
         OrderResponseDto result = orderService.getOrderByOrderNumber("ORD-001");
@@ -170,7 +276,7 @@ class OrderServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result.getOrderNumber()).isEqualTo("ORD-001");
 
-        verify(orderRepository, times(1)).findByOrderNumber("ORD-001");
+        verify(orderRepository, times(1)).findDetailByOrderNumber("ORD-001");
     }
 
     @Test
@@ -191,6 +297,27 @@ class OrderServiceImplTest {
         assertThat(result.getContent().get(0).getCustomerId()).isEqualTo("customer-123");
 
         verify(orderRepository, times(1)).findByCustomerId("customer-123", pageable);
+        verify(orderRepository, times(1)).fetchItems(List.of(orderId));
+        verify(orderRepository, times(1)).fetchStatusHistory(List.of(orderId));
+    }
+
+    @Test
+    void getCustomerOrderSummaries_ShouldReturnProjection_WithoutLoadingItemsOrHistory() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        OrderSummaryDto summary = new OrderSummaryDto(orderId, "ORD-001", testOrder.getOrderDate(),
+                Order.OrderStatus.PENDING, BigDecimal.valueOf(200.0), "USD");
+        when(orderRepository.findSummariesByCustomerId("customer-123", pageable))
+                .thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+
+        // When
+        Page<OrderSummaryDto> result = orderService.getCustomerOrderSummaries("customer-123", pageable);
+
+        // Then
+        assertThat(result.getContent()).extracting(OrderSummaryDto::getOrderNumber).containsExactly("ORD-001");
+        assertThat(result.getContent().get(0).getId()).isEqualTo(orderId.toString());
+        verify(orderRepository, never()).fetchItems(any());
+        verify(orderRepository, never()).fetchStatusHistory(any());
     }
 
     @Test
@@ -209,7 +336,7 @@ class OrderServiceImplTest {
         updatedOrder.setTotalAmount(BigDecimal.valueOf(200.0));
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-        when(orderRepository.save(any(Order.class))).thenReturn(updatedOrder);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(updatedOrder);
 
         // When
         OrderResponseDto result = orderService.updateOrderStatus(orderId, updateRequest);
@@ -219,44 +346,298 @@ class OrderServiceImplTest {
         assertThat(result.getStatus()).isEqualTo(Order.OrderStatus.CONFIRMED);
 
         verify(orderRepository, times(1)).findById(orderId);
-        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderRepository, times(1)).saveAndFlush(any(Order.class));
         verify(statusHistoryRepository, times(1)).save(any(OrderStatusHistory.class));
+        verify(outboxService, times(1)).append(eq(OutboxService.ORDER), eq(orderId.toString()),
+                eq("ORDER_STATUS_CHANGED"), any());
+        verify(customerOrderStatsService, times(1)).recordTransition(updatedOrder, Order.OrderStatus.PENDING,
+                Order.OrderStatus.CONFIRMED);
     }
 
     @Test
     void updateOrderStatus_WithShippedStatus_ShouldSetShippedDate() {
         // Given
+        testOrder.setStatus(Order.OrderStatus.PROCESSING);
         OrderStatusUpdateRequestDto updateRequest = OrderStatusUpdateRequestDto.builder()
                 .status(Order.OrderStatus.SHIPPED)
                 .build();
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(testOrder);
 
         // When
         orderService.updateOrderStatus(orderId, updateRequest);
 
         // Then
-        verify(orderRepository, times(1)).save(argThat(order ->
+        verify(orderRepository, times(1)).saveAndFlush(argThat(order ->
             order.getStatus() == Order.OrderStatus.SHIPPED &&
             order.getShippedDate() != null
         ));
     }
 
+    @Test
+    void updateOrderStatus_FromCancelled_ShouldThrowWithoutSaving() {
+        // Given
+        testOrder.setStatus(Order.OrderStatus.CANCELLED);
+        OrderStatusUpdateRequestDto updateRequest = OrderStatusUpdateRequestDto.builder()
+                .status(Order.OrderStatus.PENDING)
+                .build();
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.updateOrderStatus(orderId, updateRequest))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Cannot change order status");
+
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
+        verify(statusHistoryRepository, never()).save(any(OrderStatusHistory.class));
+        verify(inventoryService, never()).release(any());
+    }
+
+    @Test
+    void updateOrderStatus_ShouldRetryWithFreshState_WhenOrderWasModifiedConcurrently() {
+        // Given - the first attempt loses the version check; the second reads the order as CONFIRMED
+        Order confirmed = new Order();
+        confirmed.setId(orderId);
+        confirmed.setOrderNumber("ORD-001");
+        confirmed.setCustomerId("customer-123");
+        confirmed.setStatus(Order.OrderStatus.CONFIRMED);
+        confirmed.setTotalAmount(BigDecimal.valueOf(200.0));
+        OrderStatusUpdateRequestDto updateRequest = OrderStatusUpdateRequestDto.builder()
+                .status(Order.OrderStatus.PROCESSING)
+                .build();
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder), Optional.of(confirmed));
+        when(orderRepository.saveAndFlush(any(Order.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, orderId))
+                .thenReturn(confirmed);
+
+        // When
+        OrderResponseDto result = orderService.updateOrderStatus(orderId, updateRequest);
+
+        // Then - only the successful attempt is recorded, from the status it actually changed
+        assertThat(result.getStatus()).isEqualTo(Order.OrderStatus.PROCESSING);
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(statusHistoryRepository, times(1)).save(argThat(history ->
+                "CONFIRMED".equals(history.getOldStatus()) && "PROCESSING".equals(history.getNewStatus())));
+        verify(customerOrderStatsService, times(1)).recordTransition(confirmed, Order.OrderStatus.CONFIRMED,
+                Order.OrderStatus.PROCESSING);
+    }
+
+    @Test
+    void cancelOrder_ShouldGiveUp_WhenEveryAttemptConflicts() {
+        // Given
+        when(orderRepository.findById(orderId)).thenAnswer(invocation -> Optional.of(copyOf(testOrder)));
+        when(orderRepository.saveAndFlush(any(Order.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, orderId));
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.cancelOrder(orderId, "Customer requested cancellation"))
+                .isInstanceOf(OrderUpdateConflictException.class);
+        verify(orderRepository, times(4)).saveAndFlush(any(Order.class));
+        verifyNoInteractions(statusHistoryRepository, outboxService, customerOrderStatsService);
+    }
+
     @Test
     void cancelOrder_ShouldCancelOrderAndCreateHistory() {
         // Given
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(testOrder);
 
         // When
         orderService.cancelOrder(orderId, "Customer requested cancellation");
 
         // Then
-        verify(orderRepository, times(1)).save(argThat(order ->
+        verify(orderRepository, times(1)).saveAndFlush(argThat(order ->
             order.getStatus() == Order.OrderStatus.CANCELLED
         ));
         verify(statusHistoryRepository, times(1)).save(any(OrderStatusHistory.class));
+        verify(outboxService, times(1)).append(eq(OutboxService.ORDER), eq(orderId.toString()),
+                eq("ORDER_CANCELLED"), any());
+        verify(customerOrderStatsService, times(1)).recordTransition(testOrder, Order.OrderStatus.PENDING,
+                Order.OrderStatus.CANCELLED);
+        verify(pendingOrderExpiry, times(1)).unschedule(orderId);
+    }
+
+    @Test
+    void expirePendingOrders_ShouldCancelLockedOrders_AndReleaseStock() {
+        // Given
+        LocalDateTime placedBefore = LocalDateTime.now().minusMinutes(15);
+        List<UUID> ids = List.of(orderId, UUID.randomUUID());
+        when(orderRepository.lockPendingPlacedBefore(ids, placedBefore)).thenReturn(List.of(testOrder));
+
+        // When
+        int cancelled = orderService.expirePendingOrders(ids, placedBefore);
+
+        // Then - the order paid meanwhile is not returned by the locking query and is left alone
+        assertThat(cancelled).isEqualTo(1);
+        assertThat(testOrder.getStatus()).isEqualTo(Order.OrderStatus.CANCELLED);
+        verify(orderRepository, times(1)).fetchItems(List.of(orderId));
+        verify(statusHistoryRepository, times(1)).save(argThat(history ->
+                "PENDING".equals(history.getOldStatus()) && "CANCELLED".equals(history.getNewStatus())));
+        verify(inventoryService, times(1)).release(testOrder.getOrderItems());
+        verify(pendingOrderExpiry, times(1)).unschedule(orderId);
+    }
+
+    @Test
+    void expirePendingOrders_ShouldDoNothing_WhenNoOrderIsStillPending() {
+        // Given
+        LocalDateTime placedBefore = LocalDateTime.now();
+        when(orderRepository.lockPendingPlacedBefore(List.of(orderId), placedBefore)).thenReturn(List.of());
+
+        // When
+        int cancelled = orderService.expirePendingOrders(List.of(orderId), placedBefore);
+
+        // Then
+        assertThat(cancelled).isZero();
+        verify(orderRepository, never()).fetchItems(any());
+        verifyNoInteractions(statusHistoryRepository, inventoryService);
+    }
+
+    @Test
+    void archiveOrders_ShouldCopyLockedChunkToArchive_ThenDeleteItFromHotTables() {
+        // Given
+        testOrder.setStatus(Order.OrderStatus.DELIVERED);
+        testOrder.setOrderItems(List.of());
+        testOrder.setStatusHistory(List.of());
+        LocalDateTime placedBefore = LocalDateTime.now().minusDays(365);
+        when(orderRepository.lockOldestByStatusPlacedBefore(Order.OrderStatus.DELIVERED, placedBefore,
+                PageRequest.of(0, 500))).thenReturn(List.of(testOrder));
+
+        // When
+        int archived = orderService.archiveOrders(Order.OrderStatus.DELIVERED, placedBefore, 500);
+
+        // Then
+        assertThat(archived).isEqualTo(1);
+        verify(orderArchive, times(1)).store(argThat(orders -> orders.size() == 1 &&
+                orders.iterator().next().getOrderNumber().equals("ORD-001")));
+        verify(statusHistoryRepository, times(1)).deleteByOrderIdIn(List.of(orderId));
+        verify(orderItemRepository, times(1)).deleteByOrderIdIn(List.of(orderId));
+        verify(orderRepository, times(1)).deleteAllByIdIn(List.of(orderId));
+    }
+
+    @Test
+    void archiveOrders_ShouldRejectStatusThatCanStillChange() {
+        // When / Then
+        assertThatThrownBy(() -> orderService.archiveOrders(Order.OrderStatus.SHIPPED, LocalDateTime.now(), 500))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(orderRepository, orderArchive);
+    }
+
+    @Test
+    void bulkUpdateOrderStatus_ShouldUpdateValidTransitions_AndReportFailuresPerOrder() {
+        // Given
+        Order shipped = new Order();
+        shipped.setId(UUID.randomUUID());
+        shipped.setOrderNumber("ORD-002");
+        shipped.setCustomerId("customer-123");
+        shipped.setStatus(Order.OrderStatus.SHIPPED);
+        UUID unknownId = UUID.randomUUID();
+        BulkOrderStatusUpdateRequestDto request = BulkOrderStatusUpdateRequestDto.builder()
+                .transitions(List.of(
+                        transition(orderId, Order.OrderStatus.PROCESSING),
+                        transition(shipped.getId(), Order.OrderStatus.CANCELLED),
+                        transition(unknownId, Order.OrderStatus.SHIPPED),
+                        transition(orderId, Order.OrderStatus.CANCELLED)))
+                .notes("Wave 42")
+                .build();
+        when(orderRepository.lockAllByIdIn(any())).thenReturn(List.of(testOrder, shipped));
+        when(orderRepository.getReferenceById(orderId)).thenReturn(testOrder);
+
+        // When
+        BulkOrderStatusUpdateResultDto result = orderService.bulkUpdateOrderStatus(request);
+
+        // Then - one UPDATE for the valid transition; the others are reported in request order
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getResults()).extracting(BulkOrderStatusUpdateResultDto.Result::isSuccess)
+                .containsExactly(true, false, false, false);
+        assertThat(result.getResults().get(0).getPreviousStatus()).isEqualTo(Order.OrderStatus.PENDING);
+        assertThat(result.getResults().get(1).getError()).contains("SHIPPED to CANCELLED");
+        assertThat(result.getResults().get(2).getError()).isEqualTo("Order not found");
+        assertThat(result.getResults().get(3).getError()).contains("more than once");
+
+        verify(orderRepository, times(1)).updateStatus(eq(List.of(orderId)), eq(Order.OrderStatus.PROCESSING),
+                isNull(), isNull(), any(LocalDateTime.class));
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(statusHistoryRepository, times(1)).saveAll(anyList());
+        verify(customerOrderStatsService, times(1)).recordTransitions(anyList());
+        verify(outboxService, times(1)).append(eq(OutboxService.ORDER), eq(orderId.toString()),
+                eq("ORDER_STATUS_CHANGED"), any());
+        verify(pendingOrderExpiry, times(1)).unschedule(orderId);
+        verifyNoInteractions(inventoryService);
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void bulkUpdateOrderStatus_ShouldReleaseStock_OfCancelledOrders() {
+        // Given
+        OrderItem item = new OrderItem();
+        item.setProductId(testProduct.getId());
+        item.setQuantity(2);
+        testOrder.setOrderItems(List.of(item));
+        BulkOrderStatusUpdateRequestDto request = BulkOrderStatusUpdateRequestDto.builder()
+                .transitions(List.of(transition(orderId, Order.OrderStatus.CANCELLED)))
+                .build();
+        when(orderRepository.lockAllByIdIn(any())).thenReturn(List.of(testOrder));
+        when(orderRepository.getReferenceById(orderId)).thenReturn(testOrder);
+        when(orderRepository.fetchItems(List.of(orderId))).thenReturn(List.of(testOrder));
+
+        // When
+        BulkOrderStatusUpdateResultDto result = orderService.bulkUpdateOrderStatus(request);
+
+        // Then
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        verify(inventoryService, times(1)).release(List.of(item));
+        verify(outboxService, times(1)).append(eq(OutboxService.ORDER), eq(orderId.toString()),
+                eq("ORDER_CANCELLED"), any());
+    }
+
+    @Test
+    void bulkUpdateOrderStatus_ShouldFailEveryOrderOfAChunk_WhenItsTransactionFails() {
+        // Given
+        BulkOrderStatusUpdateRequestDto request = BulkOrderStatusUpdateRequestDto.builder()
+                .transitions(List.of(transition(orderId, Order.OrderStatus.CONFIRMED)))
+                .build();
+        when(orderRepository.lockAllByIdIn(any())).thenThrow(new RuntimeException("Lock wait timeout"));
+
+        // When
+        BulkOrderStatusUpdateResultDto result = orderService.bulkUpdateOrderStatus(request);
+
+        // Then
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getResults().get(0).getError()).contains("rolled back");
+        verify(transactionManager, times(1)).rollback(any());
+        verify(orderRepository, never()).updateStatus(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void bulkUpdateOrderStatus_ShouldRejectOversizedRequest() {
+        // Given
+        List<BulkOrderStatusUpdateRequestDto.Transition> transitions = Collections.nCopies(
+                BulkOrderStatusUpdateRequestDto.MAX_TRANSITIONS + 1, transition(orderId, Order.OrderStatus.SHIPPED));
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.bulkUpdateOrderStatus(
+                BulkOrderStatusUpdateRequestDto.builder().transitions(transitions).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(orderRepository, transactionManager);
+    }
+
+    private static Order copyOf(Order order) {
+        Order copy = new Order();
+        copy.setId(order.getId());
+        copy.setOrderNumber(order.getOrderNumber());
+        copy.setCustomerId(order.getCustomerId());
+        copy.setStatus(order.getStatus());
+        copy.setTotalAmount(order.getTotalAmount());
+        return copy;
+    }
+
+    private static BulkOrderStatusUpdateRequestDto.Transition transition(UUID orderId, Order.OrderStatus status) {
+        return BulkOrderStatusUpdateRequestDto.Transition.builder().orderId(orderId).status(status).build();
     }
 
     @Test
@@ -273,7 +654,23 @@ class OrderServiceImplTest {
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("Cannot cancel order");
 
-        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
+    }
+
+    @Test
+    void cancelOrder_WithShippedOrder_ShouldThrowWithoutReleasingStock() {
+        // Given
+        testOrder.setStatus(Order.OrderStatus.SHIPPED);
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.cancelOrder(orderId, "Test"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Cannot cancel order");
+
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
+        verify(inventoryService, never()).release(any());
     }
 
     @Test
@@ -292,6 +689,38 @@ class OrderServiceImplTest {
         verify(orderRepository, times(1)).findByStatus(Order.OrderStatus.PENDING);
     }
 
+    @Test
+    void getOrdersByStatusPage_ShouldReturnCursorOfLastRow_WhenMoreRowsExist() {
+        // Given - limit + 1 rows means there is a next page
+        Order older = new Order();
+        older.setId(UUID.randomUUID());
+        older.setOrderNumber("ORD-000");
+        older.setStatus(Order.OrderStatus.PENDING);
+        older.setOrderDate(testOrder.getOrderDate().minusDays(1));
+        when(orderRepository.findPageByStatus(null, Order.OrderStatus.PENDING, null, 2))
+                .thenReturn(List.of(testOrder, older));
+
+        // When
+        OrderPageDto page = orderService.getOrdersByStatusPage(Order.OrderStatus.PENDING, null, 1);
+
+        // Then
+        assertThat(page.getItems()).extracting(OrderResponseDto::getOrderNumber).containsExactly("ORD-001");
+        OrderPageCursor next = OrderPageCursor.decode(page.getNextCursor());
+        assertThat(next.getId()).isEqualTo(orderId);
+        assertThat(next.getOrderDate()).isEqualTo(testOrder.getOrderDate());
+    }
+
+    @Test
+    void getOrdersByStatusPage_ShouldRejectCursorOfAnotherStatus() {
+        // Given
+        String cursor = new OrderPageCursor(Order.OrderStatus.DELIVERED, LocalDateTime.now(), orderId).encode();
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.getOrdersByStatusPage(Order.OrderStatus.PENDING, cursor, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(orderRepository, never()).findPageByStatus(any(), any(), any(), anyInt());
+    }
+
     @Test
     void getOrderStatusHistory_ShouldReturnStatusHistory() {
         // Given
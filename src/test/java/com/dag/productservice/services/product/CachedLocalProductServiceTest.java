@@ -2,22 +2,31 @@ package com.dag.productservice.services.product;
 
 import com.dag.productservice.dao.schema.CategoryRepository;
 import com.dag.productservice.dao.schema.LocalProductRepository;
+import com.dag.productservice.dto.ProductPageCursor;
+import com.dag.productservice.dto.ProductPageDto;
 import com.dag.productservice.dto.ProductRequestDto;
 import com.dag.productservice.dto.ProductResponseDto;
 import com.dag.productservice.exception.NotFoundException;
 import com.dag.productservice.models.Product;
+import com.dag.productservice.service.cache.ProductBatchCache;
+import com.dag.productservice.service.cache.ProductCatalogCache;
+import com.dag.productservice.service.outbox.OutboxService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import com.dag.productservice.service.product.CachedLocalProductService;
 
@@ -35,7 +44,19 @@ class CachedLocalProductServiceTest {
     private CategoryRepository categoryRepository;
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
+    private OutboxService outboxService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache missingProductsCache;
+
+    @Mock
+    private ProductCatalogCache productCatalogCache;
+
+    @Mock
+    private ProductBatchCache productBatchCache;
 
     @InjectMocks
     private CachedLocalProductService cachedLocalProductService;
@@ -62,8 +83,8 @@ class CachedLocalProductServiceTest {
     @Test
     void getProductById_ShouldReturnProduct_WhenProductExists() {
         // Given
-        when(localProductRepository.findById(testProductId))
-            .thenReturn(Optional.of(testProduct));
+        when(localProductRepository.findResponseById(testProductId))
+            .thenReturn(Optional.of(new ProductResponseDto(testProduct)));
 
         // When
         ProductResponseDto result = cachedLocalProductService.getProductById(testProductId.toString());
@@ -71,26 +92,68 @@ class CachedLocalProductServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(testProduct.getName(), result.getName());
-        verify(localProductRepository, times(1)).findById(testProductId);
+        verify(localProductRepository, times(1)).findResponseById(testProductId);
     }
 
     @Test
     void getProductById_ShouldThrowNotFoundException_WhenProductDoesNotExist() {
         // Given
-        when(localProductRepository.findById(testProductId))
+        when(localProductRepository.findResponseById(testProductId))
             .thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(NotFoundException.class, () ->
             cachedLocalProductService.getProductById(testProductId.toString()));
-        verify(localProductRepository, times(1)).findById(testProductId);
+        verify(localProductRepository, times(1)).findResponseById(testProductId);
     }
 
     @Test
-    void getAllProducts_ShouldReturnAllProducts() {
+    void getProductById_ShouldRememberAbsentId_WhenProductDoesNotExist() {
+        // Given
+        when(cacheManager.getCache(CachedLocalProductService.MISSING_PRODUCTS_CACHE)).thenReturn(missingProductsCache);
+        when(cacheManager.getCache(CachedLocalProductService.PRODUCTS_CACHE)).thenReturn(null);
+        when(localProductRepository.findResponseById(testProductId))
+            .thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(NotFoundException.class, () ->
+            cachedLocalProductService.getProductById(testProductId.toString()));
+        verify(missingProductsCache, times(1)).put(testProductId.toString(), Boolean.TRUE);
+    }
+
+    @Test
+    void getProductById_ShouldSkipDatabase_WhenIdIsKnownAbsent() {
         // Given
-        List<Product> products = Arrays.asList(testProduct);
-        when(localProductRepository.findAll()).thenReturn(products);
+        when(cacheManager.getCache(CachedLocalProductService.MISSING_PRODUCTS_CACHE)).thenReturn(missingProductsCache);
+        when(missingProductsCache.get(testProductId.toString())).thenReturn(() -> Boolean.TRUE);
+
+        // When & Then
+        assertThrows(NotFoundException.class, () ->
+            cachedLocalProductService.getProductById(testProductId.toString()));
+        verify(localProductRepository, never()).findResponseById(any());
+        verify(cacheManager, never()).getCache(CachedLocalProductService.PRODUCTS_CACHE);
+    }
+
+    @Test
+    void getProductById_ShouldUnwrapNotFound_WhenLoadedThroughProductsCache() {
+        // Given
+        Cache productsCache = new ConcurrentMapCache(CachedLocalProductService.PRODUCTS_CACHE);
+        when(cacheManager.getCache(CachedLocalProductService.MISSING_PRODUCTS_CACHE)).thenReturn(missingProductsCache);
+        when(cacheManager.getCache(CachedLocalProductService.PRODUCTS_CACHE)).thenReturn(productsCache);
+        when(localProductRepository.findResponseById(testProductId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(NotFoundException.class, () ->
+            cachedLocalProductService.getProductById(testProductId.toString()));
+        assertNull(productsCache.get(testProductId.toString()));
+    }
+
+    @Test
+    void getAllProducts_ShouldReturnAllProducts() {
+        // Given - the catalog is missing, so it is rebuilt from the repository
+        when(localProductRepository.findAllResponses()).thenReturn(List.of(new ProductResponseDto(testProduct)));
+        when(productCatalogCache.getAll(any())).thenAnswer(invocation ->
+            invocation.<Supplier<List<ProductResponseDto>>>getArgument(0).get());
 
         // When
         List<ProductResponseDto> result = cachedLocalProductService.getAllProducts();
@@ -99,7 +162,101 @@ class CachedLocalProductServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(testProduct.getName(), result.get(0).getName());
-        verify(localProductRepository, times(1)).findAll();
+        verify(localProductRepository, times(1)).findAllResponses();
+    }
+
+    @Test
+    void getAllProducts_ShouldServeCatalog_WithoutScanningTable() {
+        // Given
+        when(productCatalogCache.getAll(any())).thenReturn(List.of(new ProductResponseDto(testProduct)));
+
+        // When
+        List<ProductResponseDto> result = cachedLocalProductService.getAllProducts();
+
+        // Then
+        assertEquals(1, result.size());
+        verify(localProductRepository, never()).findAllResponses();
+    }
+
+    @Test
+    void getProductsPage_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        // Given - one row more than the limit signals a next page
+        Product second = new Product();
+        second.setId(UUID.randomUUID());
+        second.setName("Second Product");
+        Product third = new Product();
+        third.setId(UUID.randomUUID());
+        third.setName("Third Product");
+        when(localProductRepository.findPage(ProductPageCursor.Sort.ID, null, 3))
+            .thenReturn(Arrays.asList(testProduct, second, third));
+
+        // When
+        ProductPageDto page = cachedLocalProductService.getProductsPage(null, 2, "id");
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        ProductPageCursor cursor = ProductPageCursor.decode(page.getNextCursor());
+        assertEquals(ProductPageCursor.Sort.ID, cursor.getSort());
+        assertEquals(second.getId(), cursor.getId());
+    }
+
+    @Test
+    void getProductsPage_ShouldRejectCursorForDifferentSort() {
+        // Given
+        String cursor = new ProductPageCursor(ProductPageCursor.Sort.ID, null, testProductId).encode();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () ->
+            cachedLocalProductService.getProductsPage(cursor, 10, "createdOn"));
+        verify(localProductRepository, never()).findPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void getProductsByIds_ShouldLoadOnlyCacheMisses_AndBackfillThem() {
+        // Given
+        Product cachedProduct = new Product();
+        cachedProduct.setId(UUID.randomUUID());
+        cachedProduct.setName("Cached Product");
+        String cachedId = cachedProduct.getId().toString();
+        String missId = testProductId.toString();
+        when(productBatchCache.getAll(List.of(cachedId, missId)))
+            .thenReturn(Map.of(cachedId, new ProductResponseDto(cachedProduct)));
+        when(localProductRepository.findAllResponsesByIds(List.of(testProductId)))
+            .thenReturn(List.of(new ProductResponseDto(testProduct)));
+
+        // When
+        List<ProductResponseDto> result = cachedLocalProductService.getProductsByIds(List.of(cachedId, missId, cachedId));
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("Cached Product", result.get(0).getName());
+        assertEquals(testProduct.getName(), result.get(1).getName());
+        verify(localProductRepository, times(1)).findAllResponsesByIds(List.of(testProductId));
+        verify(productBatchCache, times(1)).putAll(argThat(products -> products.size() == 1), anyLong());
+    }
+
+    @Test
+    void getProductsByIds_ShouldSkipDatabase_WhenAllProductsAreCached() {
+        // Given
+        String id = testProductId.toString();
+        when(productBatchCache.getAll(List.of(id))).thenReturn(Map.of(id, new ProductResponseDto(testProduct)));
+
+        // When
+        List<ProductResponseDto> result = cachedLocalProductService.getProductsByIds(List.of(id));
+
+        // Then
+        assertEquals(1, result.size());
+        verify(localProductRepository, never()).findAllResponsesByIds(any());
+        verify(productBatchCache, never()).putAll(any(), anyLong());
+    }
+
+    @Test
+    void getProductsByIds_ShouldRejectInvalidIds() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () ->
+            cachedLocalProductService.getProductsByIds(List.of("not-a-uuid")));
+        verify(productBatchCache, never()).getAll(any());
     }
 
     @Test
@@ -114,7 +271,8 @@ class CachedLocalProductServiceTest {
         assertNotNull(result);
         assertEquals(testProduct.getName(), result.getName());
         verify(localProductRepository, times(1)).save(any(Product.class));
-        verify(redisTemplate, times(1)).convertAndSend(eq("product-cache-events"), anyString());
+        verify(productCatalogCache, times(1)).upsert(any(ProductResponseDto.class));
+        verify(outboxService, times(1)).append(OutboxService.PRODUCT, testProductId.toString(), "PRODUCT_CREATED", null);
     }
 
     @Test
@@ -142,7 +300,8 @@ class CachedLocalProductServiceTest {
         assertNotNull(result);
         assertEquals(testProduct.getName(), result.getName());
         verify(localProductRepository, times(1)).deleteById(testProductId);
-        verify(redisTemplate, times(1)).convertAndSend(eq("product-cache-events"), anyString());
+        verify(productCatalogCache, times(1)).remove(testProductId.toString());
+        verify(outboxService, times(1)).append(OutboxService.PRODUCT, testProductId.toString(), "PRODUCT_DELETED", null);
     }
 
     @Test
@@ -171,7 +330,7 @@ class CachedLocalProductServiceTest {
         // Then
         assertNotNull(result);
         verify(localProductRepository, times(1)).save(any(Product.class));
-        verify(redisTemplate, times(1)).convertAndSend(eq("product-cache-events"), anyString());
+        verify(outboxService, times(1)).append(OutboxService.PRODUCT, testProductId.toString(), "PRODUCT_UPDATED", null);
     }
 
     @Test
@@ -0,0 +1,72 @@
+package com.dag.productservice.services.product;
+
+import com.dag.productservice.dao.schema.LocalProductRepository;
+import com.dag.productservice.models.Product;
+import com.dag.productservice.service.product.ProductExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportServiceTest {
+
+    @Mock
+    private LocalProductRepository localProductRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ProductExportService productExportService;
+
+    @BeforeEach
+    void setUp() {
+        productExportService = new ProductExportService(localProductRepository, entityManager,
+                transactionManager, objectMapper, 2);
+    }
+
+    @Test
+    void exportNdjson_ShouldWriteEveryProductWithPriceAndCategory() throws Exception {
+        // Given
+        when(localProductRepository.streamAllWithPriceAndCategory()).thenReturn(Stream.of(product(0), product(1)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = productExportService.exportNdjson(out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Product 0", first.get("name").asText());
+        assertEquals("Title 0", first.get("title").asText());
+        verify(localProductRepository, times(1)).streamAllWithPriceAndCategory();
+    }
+
+    private Product product(int index) {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName("Product " + index);
+        product.setTitle("Title " + index);
+        product.setDescription("Description " + index);
+        return product;
+    }
+}